@@ -0,0 +1,133 @@
+package study.jpa.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpa.SpringDataJpaApplication;
+import study.jpa.dto.MemberDto;
+import study.jpa.entity.Member;
+import study.jpa.entity.Team;
+import study.jpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// MemberRepository 의 Member + Team 조회 전략별 처리량/지연시간/할당량 비교 (인메모리 H2)
+@State(Scope.Benchmark)
+public class MemberFetchStrategyBenchmark {
+
+  private static final String USERNAME = "member";
+
+  @Param("1000")
+  int memberCount;
+
+  @Param("10")
+  int teamCount;
+
+  private ConfigurableApplicationContext context;
+  private MemberRepository memberRepository;
+  private TransactionTemplate readOnlyTransaction;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(SpringDataJpaApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "decorator.datasource.enabled=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "logging.level.org.hibernate.SQL=off")
+            .run();
+
+    memberRepository = context.getBean(MemberRepository.class);
+    PlatformTransactionManager transactionManager =
+        context.getBean(PlatformTransactionManager.class);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+
+    EntityManager em = context.getBean(EntityManager.class);
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              List<Team> teams = new ArrayList<>();
+              for (int i = 0; i < teamCount; i++) {
+                Team team = new Team("team" + i);
+                em.persist(team);
+                teams.add(team);
+              }
+              for (int i = 0; i < memberCount; i++) {
+                em.persist(new Member(USERNAME, i, teams.get(i % teamCount)));
+                if (i % 100 == 0) {
+                  em.flush();
+                }
+              }
+            });
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void lazyLoading(Blackhole bh) {
+    consumeMembers(memberRepository::findMemberCustom, bh);
+  }
+
+  @Benchmark
+  public void fetchJoin(Blackhole bh) {
+    consumeMembers(memberRepository::findMemberFetchJoin, bh);
+  }
+
+  @Benchmark
+  public void entityGraph(Blackhole bh) {
+    consumeMembers(memberRepository::findMemberEntityGraph, bh);
+  }
+
+  @Benchmark
+  public void namedEntityGraph(Blackhole bh) {
+    consumeMembers(() -> memberRepository.findEntityGraphByUsername(USERNAME), bh);
+  }
+
+  @Benchmark
+  public void findAllOverride(Blackhole bh) {
+    consumeMembers(memberRepository::findAll, bh);
+  }
+
+  @Benchmark
+  public void dtoProjection(Blackhole bh) {
+    readOnlyTransaction.executeWithoutResult(
+        status -> {
+          for (MemberDto dto : memberRepository.findMemberDto()) {
+            bh.consume(dto.getUsername());
+            bh.consume(dto.getTeamName());
+          }
+        });
+  }
+
+  // 트랜잭션마다 새로운 영속성 컨텍스트를 사용하므로 1차 캐시가 반복 간에 재사용되지 않음
+  private void consumeMembers(Supplier<List<Member>> query, Blackhole bh) {
+    readOnlyTransaction.executeWithoutResult(
+        status -> {
+          for (Member member : query.get()) {
+            bh.consume(member.getUsername());
+            bh.consume(member.getTeam().getName());
+          }
+        });
+  }
+}
@@ -5,9 +5,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
-
-import java.util.Optional;
-import java.util.UUID;
+import study.jpa.audit.RandomAuditorAware;
 
 @EnableJpaAuditing
 @SpringBootApplication
@@ -19,6 +17,6 @@ public class SpringDataJpaApplication {
 
   @Bean
   public AuditorAware<String> auditorProvider() {
-    return () -> Optional.of(UUID.randomUUID().toString());
+    return new RandomAuditorAware();
   }
 }
@@ -0,0 +1,32 @@
+package study.jpa.audit;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+@Getter
+@ToString
+public class AuditEvent {
+
+  public enum Action {
+    INSERT,
+    UPDATE,
+    DELETE
+  }
+
+  private final String entityName;
+  private final String entityId;
+  private final Action action;
+  private final String auditor;
+  private final LocalDateTime occurredAt;
+
+  public AuditEvent(
+      String entityName, String entityId, Action action, String auditor, LocalDateTime occurredAt) {
+    this.entityName = entityName;
+    this.entityId = entityId;
+    this.action = action;
+    this.auditor = auditor;
+    this.occurredAt = occurredAt;
+  }
+}
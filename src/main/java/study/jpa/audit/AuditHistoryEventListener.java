@@ -0,0 +1,98 @@
+package study.jpa.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Component;
+import study.jpa.entity.BaseEntity;
+import study.jpa.event.HibernateEventListenerRegistrar;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+
+// 커밋된 변경만 이력으로 남기기 위해 post-commit 이벤트를 사용
+@Component
+@RequiredArgsConstructor
+public class AuditHistoryEventListener
+    implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+  private final HibernateEventListenerRegistrar registrar;
+  private final AuditHistoryWriter writer;
+  private final AuditorAware<String> auditorAware;
+
+  @PostConstruct
+  public void register() {
+    registrar.append(EventType.POST_COMMIT_INSERT, this);
+    registrar.append(EventType.POST_COMMIT_UPDATE, this);
+    registrar.append(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (!(event.getEntity() instanceof BaseEntity)) {
+      return;
+    }
+    BaseEntity entity = (BaseEntity) event.getEntity();
+    writer.append(
+        new AuditEvent(
+            event.getPersister().getEntityName(),
+            String.valueOf(event.getId()),
+            AuditEvent.Action.INSERT,
+            entity.getCreateBy(),
+            entity.getCreatedDate() != null ? entity.getCreatedDate() : LocalDateTime.now()));
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof BaseEntity)) {
+      return;
+    }
+    BaseEntity entity = (BaseEntity) event.getEntity();
+    writer.append(
+        new AuditEvent(
+            event.getPersister().getEntityName(),
+            String.valueOf(event.getId()),
+            AuditEvent.Action.UPDATE,
+            entity.getLastModifiedBy(),
+            entity.getLastModifiedDate() != null
+                ? entity.getLastModifiedDate()
+                : LocalDateTime.now()));
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (!(event.getEntity() instanceof BaseEntity)) {
+      return;
+    }
+    writer.append(
+        new AuditEvent(
+            event.getPersister().getEntityName(),
+            String.valueOf(event.getId()),
+            AuditEvent.Action.DELETE,
+            auditorAware.getCurrentAuditor().orElse(null),
+            LocalDateTime.now()));
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(PostInsertEvent event) {}
+
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {}
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {}
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return BaseEntity.class.isAssignableFrom(persister.getMappedClass());
+  }
+}
@@ -0,0 +1,114 @@
+package study.jpa.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 이력은 bounded queue 에 넣기만 하고 백그라운드 스레드가 모아서 JDBC batch 로 저장하므로 쓰기 트랜잭션을 지연시키지 않음
+// queue 가 가득 차면 쓰기를 막지 않고 이력을 버림 (droppedCount 로 확인)
+@Slf4j
+@Component
+public class AuditHistoryWriter {
+
+  private static final String INSERT_SQL =
+      "insert into audit_history (entity_name, entity_id, action, auditor, occurred_at)"
+          + " values (?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final BlockingQueue<AuditEvent> queue;
+  private final int batchSize;
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  private volatile boolean running;
+  private Thread worker;
+
+  public AuditHistoryWriter(
+      JdbcTemplate jdbcTemplate,
+      @Value("${audit-history.queue-capacity:10000}") int queueCapacity,
+      @Value("${audit-history.batch-size:500}") int batchSize) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+  }
+
+  public void append(AuditEvent event) {
+    if (!queue.offer(event)) {
+      if (droppedCount.incrementAndGet() % 1000 == 1) {
+        log.warn("audit history queue is full, dropped={}", droppedCount.get());
+      }
+    }
+  }
+
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  @PostConstruct
+  public void start() {
+    running = true;
+    worker = new Thread(this::run, "audit-history-writer");
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    worker.interrupt();
+    worker.join(TimeUnit.SECONDS.toMillis(5));
+
+    // 종료 전에 남은 이력 저장
+    List<AuditEvent> batch = new ArrayList<>(batchSize);
+    while (queue.drainTo(batch, batchSize) > 0) {
+      write(batch);
+      batch.clear();
+    }
+  }
+
+  private void run() {
+    List<AuditEvent> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        AuditEvent first = queue.poll(1, TimeUnit.SECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("failed to write {} audit history rows", batch.size(), e);
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void write(List<AuditEvent> batch) {
+    jdbcTemplate.batchUpdate(
+        INSERT_SQL,
+        batch,
+        batch.size(),
+        (ps, event) -> {
+          ps.setString(1, event.getEntityName());
+          ps.setString(2, event.getEntityId());
+          ps.setString(3, event.getAction().name());
+          ps.setString(4, event.getAuditor());
+          ps.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+        });
+  }
+}
@@ -0,0 +1,24 @@
+package study.jpa.audit;
+
+import org.springframework.data.domain.AuditorAware;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// UUID.randomUUID() 는 저장마다 SecureRandom 을 사용하므로 ThreadLocalRandom 으로 만들고
+// RFC 4122 version 4 / variant 비트만 직접 설정
+public class RandomAuditorAware implements AuditorAware<String> {
+
+  @Override
+  public Optional<String> getCurrentAuditor() {
+    return Optional.of(nextUuid().toString());
+  }
+
+  static UUID nextUuid() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+}
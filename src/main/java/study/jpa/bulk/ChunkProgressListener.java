@@ -0,0 +1,6 @@
+package study.jpa.bulk;
+
+public interface ChunkProgressListener {
+
+  void onChunk(String jobName, long lastProcessedId, long maxId, long updatedRows);
+}
@@ -0,0 +1,106 @@
+package study.jpa.bulk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpa.entity.BulkJobCheckpoint;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.Map;
+
+// 하나의 벌크 UPDATE 를 pk 범위(:fromId ~ :toId) 청크로 나누어 청크마다 별도 트랜잭션으로 커밋
+@Slf4j
+@Component
+public class ChunkedUpdateExecutor {
+
+  private final EntityManager em;
+  private final TransactionTemplate chunkTransaction;
+
+  public ChunkedUpdateExecutor(EntityManager em, PlatformTransactionManager transactionManager) {
+    this.em = em;
+    this.chunkTransaction = new TransactionTemplate(transactionManager);
+    this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+  }
+
+  public long execute(
+      String jobName, String entityName, String jpql, Map<String, Object> parameters, int chunkSize) {
+    return execute(
+        jobName,
+        entityName,
+        jpql,
+        parameters,
+        chunkSize,
+        (name, lastProcessedId, maxId, updatedRows) ->
+            log.info("[{}] {}/{} updated={}", name, lastProcessedId, maxId, updatedRows));
+  }
+
+  // 작업 시작 시점의 max(id) 까지만 처리하며, 같은 jobName 의 체크포인트가 남아 있다면 그 다음 id 부터 이어서 실행
+  public long execute(
+      String jobName,
+      String entityName,
+      String jpql,
+      Map<String, Object> parameters,
+      int chunkSize,
+      ChunkProgressListener listener) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+    }
+
+    Object[] range =
+        chunkTransaction.execute(
+            status ->
+                em.createQuery(
+                        "select min(e.id), max(e.id) from " + entityName + " e", Object[].class)
+                    .getSingleResult());
+    if (range == null || range[1] == null) {
+      return 0;
+    }
+    long minId = ((Number) range[0]).longValue();
+    long maxId = ((Number) range[1]).longValue();
+
+    BulkJobCheckpoint checkpoint =
+        chunkTransaction.execute(
+            status -> {
+              BulkJobCheckpoint found = em.find(BulkJobCheckpoint.class, jobName);
+              if (found != null) {
+                log.info("[{}] resume after id {}", jobName, found.getLastProcessedId());
+                return found;
+              }
+              BulkJobCheckpoint created = new BulkJobCheckpoint(jobName, minId - 1);
+              em.persist(created);
+              return created;
+            });
+
+    long lastProcessedId = checkpoint.getLastProcessedId();
+    long updatedRows = checkpoint.getUpdatedRows();
+    while (lastProcessedId < maxId) {
+      long fromId = lastProcessedId + 1;
+      long toId = Math.min(lastProcessedId + chunkSize, maxId);
+
+      Integer updated =
+          chunkTransaction.execute(
+              status -> {
+                Query query =
+                    em.createQuery(jpql).setParameter("fromId", fromId).setParameter("toId", toId);
+                parameters.forEach(query::setParameter);
+                int count = query.executeUpdate();
+                em.find(BulkJobCheckpoint.class, jobName).advance(toId, count);
+                return count;
+              });
+
+      lastProcessedId = toId;
+      updatedRows += updated;
+      listener.onChunk(jobName, lastProcessedId, maxId, updatedRows);
+    }
+
+    chunkTransaction.executeWithoutResult(
+        status -> em.remove(em.find(BulkJobCheckpoint.class, jobName)));
+
+    // @Modifying(clearAutomatically = true) 와 같이 호출한 쪽 영속성 컨텍스트의 오래된 엔티티를 비움
+    em.clear();
+    return updatedRows;
+  }
+}
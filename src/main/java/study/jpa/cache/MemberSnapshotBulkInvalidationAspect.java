@@ -0,0 +1,26 @@
+package study.jpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.annotation.After;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import study.jpa.sql.Infrastructure;
+
+// 벌크 update/delete 는 엔티티 이벤트가 발생하지 않으므로 메서드 단위로 전체 무효화
+// 청크 단위로 커밋하다 실패한 경우도 이미 커밋된 청크가 있으므로 예외와 관계없이 무효화
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Infrastructure
+public class MemberSnapshotBulkInvalidationAspect {
+
+  private final MemberSnapshotCache memberSnapshotCache;
+
+  @After(
+      "(this(study.jpa.repository.MemberRepository)"
+          + " && (execution(* bulk*(..)) || execution(* delete*InBatch(..))))"
+          + " || execution(* study.jpa.repository.MemberJpaRepository.bulk*(..))")
+  public void invalidateAll() {
+    memberSnapshotCache.invalidateAllAfterCommit();
+  }
+}
@@ -0,0 +1,64 @@
+package study.jpa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.jpa.dto.MemberSnapshot;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// id -> MemberSnapshot 프로세스 내 캐시. 적중하면 커넥션을 얻지 않고 응답
+// 크기와 TTL 로 제한하고, Member 변경은 커밋 후 무효화 (MemberSnapshotInvalidationListener, MemberSnapshotBulkInvalidationAspect)
+@Component
+public class MemberSnapshotCache {
+
+  private final Cache<Long, MemberSnapshot> cache;
+
+  public MemberSnapshotCache(
+      @Value("${member-snapshot-cache.maximum-size:10000}") long maximumSize,
+      @Value("${member-snapshot-cache.expire-after-write:30s}") Duration expireAfterWrite) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+  }
+
+  // loader 가 null 을 반환하면(없는 id) 캐시하지 않음
+  public MemberSnapshot get(Long id, Function<Long, MemberSnapshot> loader) {
+    return cache.get(id, loader);
+  }
+
+  public void invalidate(Long id) {
+    cache.invalidate(id);
+  }
+
+  // 벌크 연산은 어떤 id 가 바뀌었는지 알 수 없으므로 전체 무효화. 트랜잭션 안이라면 커밋 후에 실행
+  public void invalidateAllAfterCommit() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      cache.invalidateAll();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            cache.invalidateAll();
+          }
+        });
+  }
+
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+  public long estimatedSize() {
+    return cache.estimatedSize();
+  }
+}
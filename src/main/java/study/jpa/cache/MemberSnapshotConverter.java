@@ -0,0 +1,22 @@
+package study.jpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+import study.jpa.dto.MemberSnapshot;
+import study.jpa.repository.MemberRepository;
+
+// DomainClassConverter(String -> Member) 대신 사용. 매 요청 findById 로 엔티티를 만들지 않고 캐시된 스냅샷을 바인딩
+@Component
+@RequiredArgsConstructor
+public class MemberSnapshotConverter implements Converter<String, MemberSnapshot> {
+
+  private final MemberSnapshotCache memberSnapshotCache;
+  private final MemberRepository memberRepository;
+
+  @Override
+  public MemberSnapshot convert(String source) {
+    return memberSnapshotCache.get(
+        Long.valueOf(source), id -> memberRepository.findSnapshotById(id).orElse(null));
+  }
+}
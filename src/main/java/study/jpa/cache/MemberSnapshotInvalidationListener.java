@@ -0,0 +1,60 @@
+package study.jpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.jpa.entity.Member;
+import study.jpa.event.HibernateEventListenerRegistrar;
+
+import javax.annotation.PostConstruct;
+
+// 커밋 전에 무효화하면 다른 요청이 커밋 전 값을 다시 캐시할 수 있으므로 post-commit 이벤트에서 무효화
+@Component
+@RequiredArgsConstructor
+public class MemberSnapshotInvalidationListener
+    implements PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+  private final HibernateEventListenerRegistrar registrar;
+  private final MemberSnapshotCache memberSnapshotCache;
+
+  @PostConstruct
+  public void register() {
+    registrar.append(EventType.POST_COMMIT_UPDATE, this);
+    registrar.append(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof Member) {
+      memberSnapshotCache.invalidate((Long) event.getId());
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Member) {
+      memberSnapshotCache.invalidate((Long) event.getId());
+    }
+  }
+
+  // 커밋 실패 시에도 캐시된 값이 바뀐 것은 아니지만, 보수적으로 무효화
+  @Override
+  public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    onPostUpdate(event);
+  }
+
+  @Override
+  public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    onPostDelete(event);
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return Member.class.isAssignableFrom(persister.getMappedClass());
+  }
+}
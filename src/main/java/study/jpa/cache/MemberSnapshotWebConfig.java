@@ -0,0 +1,18 @@
+package study.jpa.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class MemberSnapshotWebConfig implements WebMvcConfigurer {
+
+  private final MemberSnapshotConverter memberSnapshotConverter;
+
+  @Override
+  public void addFormatters(FormatterRegistry registry) {
+    registry.addConverter(memberSnapshotConverter);
+  }
+}
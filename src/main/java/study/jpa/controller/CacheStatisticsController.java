@@ -0,0 +1,97 @@
+package study.jpa.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.jpa.cache.MemberSnapshotCache;
+import study.jpa.dto.CacheRegionStatisticsDto;
+import study.jpa.repository.MemberSearchQueryCache;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.persistence.EntityManagerFactory;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequiredArgsConstructor
+public class CacheStatisticsController {
+
+  private final EntityManagerFactory emf;
+  private final MemberSearchQueryCache memberSearchQueryCache;
+  private final MemberSnapshotCache memberSnapshotCache;
+
+  @GetMapping("/cache/statistics")
+  public List<CacheRegionStatisticsDto> statistics() {
+    Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+    List<CacheRegionStatisticsDto> result = new ArrayList<>();
+    for (String region : statistics.getSecondLevelCacheRegionNames()) {
+      CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+      if (regionStatistics == null) {
+        continue;
+      }
+      result.add(
+          new CacheRegionStatisticsDto(
+              region,
+              regionStatistics.getHitCount(),
+              regionStatistics.getMissCount(),
+              regionStatistics.getPutCount(),
+              evictionCount(region),
+              regionStatistics.getElementCountInMemory()));
+    }
+    return result;
+  }
+
+  @GetMapping("/cache/query-plan")
+  public Map<String, Long> queryPlan() {
+    Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+
+    Map<String, Long> result = new LinkedHashMap<>();
+    result.put("memberSearchHitCount", memberSearchQueryCache.getHitCount());
+    result.put("memberSearchMissCount", memberSearchQueryCache.getMissCount());
+    result.put("queryPlanCacheHitCount", statistics.getQueryPlanCacheHitCount());
+    result.put("queryPlanCacheMissCount", statistics.getQueryPlanCacheMissCount());
+    return result;
+  }
+
+  @GetMapping("/cache/member-snapshot")
+  public Map<String, Number> memberSnapshot() {
+    CacheStats stats = memberSnapshotCache.stats();
+
+    Map<String, Number> result = new LinkedHashMap<>();
+    result.put("hitCount", stats.hitCount());
+    result.put("missCount", stats.missCount());
+    result.put("hitRate", stats.hitRate());
+    result.put("evictionCount", stats.evictionCount());
+    result.put("averageLoadPenaltyNanos", stats.averageLoadPenalty());
+    result.put("estimatedSize", memberSnapshotCache.estimatedSize());
+    return result;
+  }
+
+  // Hibernate 통계에는 eviction 횟수가 없으므로 JCache(Ehcache) 통계 MBean 에서 조회
+  private long evictionCount(String region) {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      Set<ObjectName> names =
+          server.queryNames(
+              new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+      long evictions = 0;
+      for (ObjectName name : names) {
+        evictions += (Long) server.getAttribute(name, "CacheEvictions");
+      }
+      return evictions;
+    } catch (JMException e) {
+      return -1;
+    }
+  }
+}
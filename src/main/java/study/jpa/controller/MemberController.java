@@ -1,23 +1,44 @@
 package study.jpa.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.jpa.dto.MemberCursor;
+import study.jpa.dto.MemberCursorPage;
 import study.jpa.dto.MemberDto;
+import study.jpa.dto.MemberSnapshot;
 import study.jpa.entity.Member;
 import study.jpa.repository.MemberRepository;
 
 import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberController {
 
+  private static final int MAX_KEYSET_SIZE = 20;
+  private static final int EXPORT_CLEAR_SIZE = 500;
+
   private final MemberRepository memberRepository;
+  private final ObjectMapper objectMapper;
+  private final EntityManager em;
 
   @GetMapping("/members")
   public Page<MemberDto> list(@PageableDefault(size = 10) Pageable pageable) {
@@ -25,17 +46,82 @@ public class MemberController {
     return page.map(MemberDto::new);
   }
 
+  @GetMapping("/members/dto")
+  public Page<MemberDto> listDto(@PageableDefault(size = 10) Pageable pageable) {
+    return memberRepository.findMemberDtoPage(pageable);
+  }
+
+  @GetMapping("/members/keyset")
+  public MemberCursorPage listByKeyset(
+      @RequestParam(value = "cursor", required = false) String cursor,
+      @RequestParam(value = "size", defaultValue = "10") int size) {
+    int pageSize = Math.max(1, Math.min(size, MAX_KEYSET_SIZE));
+
+    // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+    List<Member> members =
+        memberRepository.findMemberByKeyset(decodeCursor(cursor), pageSize + 1);
+    boolean hasNext = members.size() > pageSize;
+    if (hasNext) {
+      members = members.subList(0, pageSize);
+    }
+
+    String nextCursor = null;
+    if (hasNext) {
+      Member last = members.get(members.size() - 1);
+      nextCursor = new MemberCursor(last.getUsername(), last.getId()).encode();
+    }
+
+    List<MemberDto> content = members.stream().map(MemberDto::new).collect(Collectors.toList());
+    return new MemberCursorPage(content, nextCursor);
+  }
+
+  @Transactional(readOnly = true)
+  @GetMapping(value = "/members/export", produces = "application/x-ndjson")
+  public void export(HttpServletResponse response) throws IOException {
+    response.setContentType("application/x-ndjson");
+    OutputStream out = response.getOutputStream();
+
+    try (Stream<Member> members = memberRepository.streamMemberAll()) {
+      Iterator<Member> iterator = members.iterator();
+      int count = 0;
+      while (iterator.hasNext()) {
+        Member member = iterator.next();
+        String teamName = member.getTeam() == null ? null : member.getTeam().getName();
+        out.write(
+            objectMapper.writeValueAsBytes(
+                new MemberDto(member.getId(), member.getUsername(), teamName)));
+        out.write('\n');
+
+        // 영속성 컨텍스트에 엔티티가 계속 쌓이지 않도록 주기적으로 비우고 응답을 내보냄
+        if (++count % EXPORT_CLEAR_SIZE == 0) {
+          em.clear();
+          out.flush();
+        }
+      }
+    }
+    out.flush();
+  }
+
   @GetMapping("/members/{id}")
   public String findMember(@PathVariable("id") Long id) {
     Member member = memberRepository.findById(id).get();
     return member.getUsername();
   }
 
+  // MemberSnapshotConverter 가 캐시된 스냅샷을 바인딩
   @GetMapping("/members2/{id}")
-  public String findMember2(@PathVariable("id") Member member) {
+  public String findMember2(@PathVariable("id") MemberSnapshot member) {
     return member.getUsername();
   }
 
+  private MemberCursor decodeCursor(String cursor) {
+    try {
+      return MemberCursor.decode(cursor);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+    }
+  }
+
 //  @PostConstruct
 //  public void init() {
 //    for (int i = 0; i < 100; i++) {
@@ -0,0 +1,29 @@
+package study.jpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.jpa.dto.ProjectionStatisticsDto;
+import study.jpa.dto.RepositoryMethodMetricsDto;
+import study.jpa.metrics.RepositoryMetrics;
+import study.jpa.repository.MemberProjectionRegistry;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class RepositoryMetricsController {
+
+  private final RepositoryMetrics repositoryMetrics;
+  private final MemberProjectionRegistry memberProjectionRegistry;
+
+  @GetMapping("/metrics/repositories")
+  public List<RepositoryMethodMetricsDto> repositories() {
+    return repositoryMetrics.snapshot();
+  }
+
+  @GetMapping("/metrics/projections")
+  public List<ProjectionStatisticsDto> projections() {
+    return memberProjectionRegistry.statistics();
+  }
+}
@@ -0,0 +1,33 @@
+package study.jpa.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import study.jpa.sql.SlowQuery;
+import study.jpa.sql.SlowQueryLog;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequiredArgsConstructor
+public class SlowQueryController {
+
+  private final SlowQueryLog slowQueryLog;
+
+  // method 를 지정하면 해당 리포지토리 메서드(이름 포함)가 실행한 쿼리만 조회
+  @GetMapping("/sql/slow-queries")
+  public List<SlowQuery> slowQueries(
+      @RequestParam(value = "method", required = false) String method,
+      @RequestParam(value = "limit", defaultValue = "50") int limit) {
+    List<SlowQuery> slowQueries = slowQueryLog.findAll(method == null ? limit : Integer.MAX_VALUE);
+    if (method == null) {
+      return slowQueries;
+    }
+    return slowQueries.stream()
+        .filter(q -> q.getRepositoryMethod() != null && q.getRepositoryMethod().contains(method))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+}
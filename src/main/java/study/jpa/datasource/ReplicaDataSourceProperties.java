@@ -0,0 +1,22 @@
+package study.jpa.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties("spring.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+  private String url;
+
+  // 지정하지 않으면 primary 계정을 사용
+  private String username;
+  private String password;
+
+  // 쓰기 트랜잭션 이후 이 시간 동안은 같은 스레드의 readOnly 트랜잭션도 primary 에서 조회 (다음 요청에는 적용되지 않음)
+  private Duration maxLag = Duration.ofSeconds(1);
+}
@@ -0,0 +1,59 @@
+package study.jpa.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// spring.datasource.replica.url 이 설정된 경우에만 primary/replica 라우팅 DataSource 를 사용
+@Configuration
+@ConditionalOnProperty(prefix = "spring.datasource.replica", name = "url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReplicationDataSourceConfig {
+
+  @Bean
+  public DataSource dataSource(
+      DataSourceProperties properties, ReplicaDataSourceProperties replicaProperties) {
+    HikariDataSource primary =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    primary.setPoolName("primary");
+
+    HikariDataSource replica =
+        DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(replicaProperties.getUrl())
+            .username(
+                replicaProperties.getUsername() != null
+                    ? replicaProperties.getUsername()
+                    : properties.determineUsername())
+            .password(
+                replicaProperties.getPassword() != null
+                    ? replicaProperties.getPassword()
+                    : properties.determinePassword())
+            .build();
+    replica.setPoolName("replica");
+    replica.setReadOnly(true);
+
+    return new ReplicationRoutingDataSource(primary, replica, replicaProperties.getMaxLag());
+  }
+
+  // HibernateJpaVendorAdapter 의 기본값(DELAYED_ACQUISITION_AND_HOLD)은 EntityManager 가 닫힐 때까지
+  // 커넥션을 유지하므로, open-in-view 의 요청 범위 EntityManager 에서는 처음 잡은 replica 커넥션을
+  // 이후 쓰기 트랜잭션이 그대로 사용함. 트랜잭션마다 커넥션을 반납해야 트랜잭션마다 다시 라우팅됨
+  @Bean
+  public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+    return properties ->
+        properties.put(
+            AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+  }
+}
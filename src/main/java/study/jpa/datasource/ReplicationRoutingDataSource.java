@@ -0,0 +1,86 @@
+package study.jpa.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+// readOnly 트랜잭션은 replica, 그 외에는 primary 로 보냄
+// 트랜잭션 매니저는 readOnly 여부가 동기화되기 전에 커넥션을 얻으므로 실제 커넥션 획득을 첫 SQL 실행 시점까지 지연
+public class ReplicationRoutingDataSource extends LazyConnectionDataSourceProxy
+    implements Closeable {
+
+  public enum Route {
+    PRIMARY,
+    REPLICA
+  }
+
+  private final DataSource primary;
+  private final DataSource replica;
+
+  public ReplicationRoutingDataSource(
+      DataSource primary, DataSource replica, Duration maxReplicaLag) {
+    this.primary = primary;
+    this.replica = replica;
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(Route.PRIMARY, primary);
+    targets.put(Route.REPLICA, replica);
+
+    Router router = new Router(maxReplicaLag.toMillis());
+    router.setTargetDataSources(targets);
+    router.setDefaultTargetDataSource(primary);
+    router.afterPropertiesSet();
+
+    setTargetDataSource(router);
+    afterPropertiesSet();
+  }
+
+  @Override
+  public void close() throws IOException {
+    closeIfPossible(primary);
+    closeIfPossible(replica);
+  }
+
+  private void closeIfPossible(DataSource dataSource) throws IOException {
+    if (dataSource instanceof Closeable) {
+      ((Closeable) dataSource).close();
+    }
+  }
+
+  private static class Router extends AbstractRoutingDataSource {
+
+    private final long maxReplicaLagMillis;
+
+    // 쓰기 직후에는 replica 에 아직 반영되지 않았을 수 있으므로 같은 스레드의 읽기는 잠시 primary 에서 수행
+    // 스레드 단위이므로 같은 클라이언트의 다음 HTTP 요청(다른 스레드)에는 적용되지 않음
+    // 요청을 넘나드는 read-your-writes 가 필요하면 세션/토큰 단위로 마지막 쓰기 시각을 전달해야 함
+    private final ThreadLocal<Long> lastWriteAt = new ThreadLocal<>();
+
+    Router(long maxReplicaLagMillis) {
+      this.maxReplicaLagMillis = maxReplicaLagMillis;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+      if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+          lastWriteAt.set(System.currentTimeMillis());
+        }
+        return Route.PRIMARY;
+      }
+
+      Long lastWrite = lastWriteAt.get();
+      if (lastWrite != null && System.currentTimeMillis() - lastWrite < maxReplicaLagMillis) {
+        return Route.PRIMARY;
+      }
+      return Route.REPLICA;
+    }
+  }
+}
@@ -0,0 +1,32 @@
+package study.jpa.dto;
+
+import lombok.Getter;
+
+@Getter
+public class CacheRegionStatisticsDto {
+
+  private final String region;
+  private final long hitCount;
+  private final long missCount;
+  private final long putCount;
+  private final long evictionCount;
+  private final long elementCountInMemory;
+  private final double hitRatio;
+
+  public CacheRegionStatisticsDto(
+      String region,
+      long hitCount,
+      long missCount,
+      long putCount,
+      long evictionCount,
+      long elementCountInMemory) {
+    this.region = region;
+    this.hitCount = hitCount;
+    this.missCount = missCount;
+    this.putCount = putCount;
+    this.evictionCount = evictionCount;
+    this.elementCountInMemory = elementCountInMemory;
+    long requests = hitCount + missCount;
+    this.hitRatio = requests == 0 ? 0 : (double) hitCount / requests;
+  }
+}
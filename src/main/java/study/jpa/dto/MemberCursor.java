@@ -0,0 +1,45 @@
+package study.jpa.dto;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+public class MemberCursor {
+
+  private final String username;
+  private final Long id;
+
+  public MemberCursor(String username, Long id) {
+    this.username = username;
+    this.id = id;
+  }
+
+  // (username, member_id) 를 외부에 노출하지 않도록 Base64 로 인코딩
+  // username 이 null 이면 구분자 없이 id 만 인코딩 ("null" 문자열과 구분)
+  public String encode() {
+    String raw = username == null ? String.valueOf(id) : id + ":" + username;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static MemberCursor decode(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return null;
+    }
+
+    String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    int separator = raw.indexOf(':');
+    try {
+      if (separator < 0) {
+        return new MemberCursor(null, Long.valueOf(raw));
+      }
+      return new MemberCursor(
+          raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+    }
+  }
+}
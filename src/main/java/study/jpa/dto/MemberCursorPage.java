@@ -0,0 +1,19 @@
+package study.jpa.dto;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class MemberCursorPage {
+
+  private final List<MemberDto> content;
+  private final String nextCursor;
+  private final boolean hasNext;
+
+  public MemberCursorPage(List<MemberDto> content, String nextCursor) {
+    this.content = content;
+    this.nextCursor = nextCursor;
+    this.hasNext = nextCursor != null;
+  }
+}
@@ -0,0 +1,24 @@
+package study.jpa.dto;
+
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+@Getter
+public class MemberSearchCondition {
+
+  private final String username;
+  private final String teamName;
+
+  public MemberSearchCondition(String username, String teamName) {
+    this.username = username;
+    this.teamName = teamName;
+  }
+
+  public boolean hasUsername() {
+    return StringUtils.hasText(username);
+  }
+
+  public boolean hasTeamName() {
+    return StringUtils.hasText(teamName);
+  }
+}
@@ -0,0 +1,20 @@
+package study.jpa.dto;
+
+import lombok.Getter;
+import lombok.ToString;
+
+// 영속성 컨텍스트와 무관한 읽기 전용 Member 값 (MemberSnapshotCache 에 보관)
+@Getter
+@ToString
+public class MemberSnapshot {
+
+  private final Long id;
+  private final String username;
+  private final int age;
+
+  public MemberSnapshot(Long id, String username, int age) {
+    this.id = id;
+    this.username = username;
+    this.age = age;
+  }
+}
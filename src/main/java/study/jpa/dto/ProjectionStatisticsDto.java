@@ -0,0 +1,24 @@
+package study.jpa.dto;
+
+import lombok.Getter;
+
+@Getter
+public class ProjectionStatisticsDto {
+
+  private final String type;
+  private final String selectClause;
+  private final long queries;
+  private final long rows;
+  private final long conversionNanos;
+  private final double averageNanosPerRow;
+
+  public ProjectionStatisticsDto(
+      String type, String selectClause, long queries, long rows, long conversionNanos) {
+    this.type = type;
+    this.selectClause = selectClause;
+    this.queries = queries;
+    this.rows = rows;
+    this.conversionNanos = conversionNanos;
+    this.averageNanosPerRow = rows == 0 ? 0 : (double) conversionNanos / rows;
+  }
+}
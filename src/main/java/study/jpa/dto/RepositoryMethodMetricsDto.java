@@ -0,0 +1,38 @@
+package study.jpa.dto;
+
+import lombok.Getter;
+
+@Getter
+public class RepositoryMethodMetricsDto {
+
+  private final String method;
+  private final long invocations;
+  private final long errors;
+  private final long rows;
+  private final double meanMicros;
+  private final long p50Micros;
+  private final long p99Micros;
+  private final long p999Micros;
+  private final long maxMicros;
+
+  public RepositoryMethodMetricsDto(
+      String method,
+      long invocations,
+      long errors,
+      long rows,
+      double meanMicros,
+      long p50Micros,
+      long p99Micros,
+      long p999Micros,
+      long maxMicros) {
+    this.method = method;
+    this.invocations = invocations;
+    this.errors = errors;
+    this.rows = rows;
+    this.meanMicros = meanMicros;
+    this.p50Micros = p50Micros;
+    this.p99Micros = p99Micros;
+    this.p999Micros = p999Micros;
+    this.maxMicros = maxMicros;
+  }
+}
@@ -0,0 +1,32 @@
+package study.jpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+// BaseEntity 변경 이력 (append-only). 저장은 AuditHistoryWriter 가 JDBC batch 로 수행
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class AuditHistory {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "audit_history_id")
+  private Long id;
+
+  private String entityName;
+  private String entityId;
+  private String action;
+  private String auditor;
+  private LocalDateTime occurredAt;
+}
@@ -0,0 +1,36 @@
+package study.jpa.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.LocalDateTime;
+
+// 청크 단위 벌크 작업의 진행 위치. 청크와 같은 트랜잭션에서 갱신되므로 장애 후 이어서 실행 가능
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class BulkJobCheckpoint {
+
+  @Id private String jobName;
+
+  private Long lastProcessedId;
+  private long updatedRows;
+  private LocalDateTime updatedAt;
+
+  public BulkJobCheckpoint(String jobName, Long lastProcessedId) {
+    this.jobName = jobName;
+    this.lastProcessedId = lastProcessedId;
+    this.updatedAt = LocalDateTime.now();
+  }
+
+  public void advance(Long lastProcessedId, int updatedRows) {
+    this.lastProcessedId = lastProcessedId;
+    this.updatedRows += updatedRows;
+    this.updatedAt = LocalDateTime.now();
+  }
+}
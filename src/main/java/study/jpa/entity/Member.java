@@ -1,6 +1,9 @@
 package study.jpa.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 
@@ -13,16 +16,25 @@ import javax.persistence.*;
     name = "Member.findByUsername",
     query = "select m from Member m where m.username = :username")
 @NamedEntityGraph(name = "Member.all", attributeNodes = @NamedAttributeNode("team"))
+@Table(indexes = @Index(name = "idx_member_username_id", columnList = "username, member_id"))
+// Team.members 컬렉션 캐시는 Member id 만 저장하므로 Member 도 캐시해야 컬렉션 초기화 시 건별 조회가 발생하지 않음
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Member extends BaseEntity {
 
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+  @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 50)
   @Column(name = "member_id")
   private Long id;
 
   private String username;
   private int age;
 
+  @Version
+  @Setter(AccessLevel.NONE)
+  private Long version;
+
   @ManyToOne(fetch = FetchType.LAZY)
   @JoinColumn(name = "team_id")
   private Team team;
@@ -45,7 +57,13 @@ public class Member extends BaseEntity {
   }
 
   public void changeTeam(Team team) {
+    // 초기화되지 않은 프록시라면 이전 팀의 members 도 로딩된 적이 없으므로 정리할 필요가 없음
+    // 새 팀의 members 에는 항상 추가 (초기화되지 않은 inverse bag 이면 add 는 로딩 없이 큐에 쌓이고,
+    // 이후 size()/조회 시 큐에 쌓인 작업 때문에 먼저 flush 가 일어남)
+    if (this.team != null && Hibernate.isInitialized(this.team)) {
+      this.team.removeMember(this);
+    }
     this.team = team;
-    team.getMembers().add(this);
+    team.addMember(this);
   }
 }
@@ -1,6 +1,14 @@
 package study.jpa.entity;
 
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.LazyCollection;
+import org.hibernate.annotations.LazyCollectionOption;
+import org.hibernate.annotations.OptimisticLock;
 
 import javax.persistence.*;
 import java.util.ArrayList;
@@ -11,18 +19,43 @@ import java.util.List;
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "name"})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Team {
   @Id
-  @GeneratedValue
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq_generator")
+  @SequenceGenerator(name = "team_seq_generator", sequenceName = "team_seq", allocationSize = 50)
   @Column(name = "tesm_id")
   private Long id;
 
   private String name;
 
+  @Version
+  @Setter(AccessLevel.NONE)
+  private Long version;
+
+  // 회원 추가/이동만으로 Team 의 version 이 올라가 충돌하지 않도록 제외
+  @OptimisticLock(excluded = true)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+  @LazyCollection(LazyCollectionOption.EXTRA)
+  @Fetch(FetchMode.SUBSELECT)
   @OneToMany(mappedBy = "team")
   private List<Member> members = new ArrayList<>();
 
   public Team(String name) {
     this.name = name;
   }
-}
\ No newline at end of file
+
+  // members 는 순서 컬럼이 없는 inverse bag 이므로 초기화되지 않았다면 add 는 컬렉션을 로딩하지 않고 큐에 쌓임
+  // 큐에 쌓인 작업이 있으면 size()/조회가 먼저 flush 하고 DB 에서 읽으므로 같은 영속성 컨텍스트에서 이동한 회원이 보임
+  void addMember(Member member) {
+    members.add(member);
+  }
+
+  // remove 는 초기화되지 않은 컬렉션을 로딩하므로, 로딩된 적 없는 컬렉션에는 반영할 필요가 없음
+  void removeMember(Member member) {
+    if (Hibernate.isInitialized(members)) {
+      members.remove(member);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package study.jpa.event;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+
+// 스프링 빈으로 만든 Hibernate 이벤트 리스너를 SessionFactory 에 등록
+@Component
+public class HibernateEventListenerRegistrar {
+
+  private final EventListenerRegistry registry;
+
+  public HibernateEventListenerRegistrar(EntityManagerFactory emf) {
+    this.registry =
+        emf.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+  }
+
+  public <T> void append(EventType<T> type, T listener) {
+    registry.appendListeners(type, listener);
+  }
+}
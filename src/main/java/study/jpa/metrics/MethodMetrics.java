@@ -0,0 +1,53 @@
+package study.jpa.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import study.jpa.dto.RepositoryMethodMetricsDto;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 리포지토리 메서드 하나의 호출 수, 실패 수, 반환 행 수와 지연시간 분포
+// 기록은 LongAdder, ConcurrentHistogram 의 wait-free 연산만 사용하므로 호출 경로에서 할당이나 락이 없음
+public class MethodMetrics {
+
+  // 1분을 넘는 값은 1분으로 기록. 유효숫자 2자리(오차 1% 이내)로 메서드당 메모리를 작게 유지
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  private final String name;
+  private final ConcurrentHistogram histogram =
+      new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 2);
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder rows = new LongAdder();
+
+  public MethodMetrics(String name) {
+    this.name = name;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public void record(long elapsedNanos, long rowCount, boolean failed) {
+    histogram.recordValue(
+        Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+    rows.add(rowCount);
+    if (failed) {
+      errors.increment();
+    }
+  }
+
+  public RepositoryMethodMetricsDto snapshot() {
+    Histogram copy = histogram.copy();
+    return new RepositoryMethodMetricsDto(
+        name,
+        copy.getTotalCount(),
+        errors.sum(),
+        rows.sum(),
+        copy.getMean(),
+        copy.getValueAtPercentile(50),
+        copy.getValueAtPercentile(99),
+        copy.getValueAtPercentile(99.9),
+        copy.getMaxValue());
+  }
+}
@@ -0,0 +1,68 @@
+package study.jpa.metrics;
+
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import study.jpa.dto.RepositoryMethodMetricsDto;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+// (프록시 클래스, 메서드) 별 MethodMetrics 보관
+// CrudRepository.save 처럼 여러 리포지토리가 같은 Method 를 공유하므로 프록시 클래스로 한 번 더 구분
+@Component
+public class RepositoryMetrics {
+
+  private final ConcurrentMap<Class<?>, ConcurrentMap<Method, MethodMetrics>> metrics =
+      new ConcurrentHashMap<>();
+
+  public MethodMetrics get(Class<?> proxyClass, Method method) {
+    ConcurrentMap<Method, MethodMetrics> methods = metrics.get(proxyClass);
+    if (methods == null) {
+      methods = metrics.computeIfAbsent(proxyClass, key -> new ConcurrentHashMap<>());
+    }
+    MethodMetrics methodMetrics = methods.get(method);
+    if (methodMetrics == null) {
+      methodMetrics =
+          methods.computeIfAbsent(method, key -> new MethodMetrics(name(proxyClass, key)));
+    }
+    return methodMetrics;
+  }
+
+  // p99 가 큰 순서
+  public List<RepositoryMethodMetricsDto> snapshot() {
+    List<RepositoryMethodMetricsDto> result = new ArrayList<>();
+    for (ConcurrentMap<Method, MethodMetrics> methods : metrics.values()) {
+      for (MethodMetrics methodMetrics : methods.values()) {
+        result.add(methodMetrics.snapshot());
+      }
+    }
+    result.sort(Comparator.comparingLong(RepositoryMethodMetricsDto::getP99Micros).reversed());
+    return result;
+  }
+
+  private static String name(Class<?> proxyClass, Method method) {
+    String parameters =
+        Arrays.stream(method.getParameterTypes())
+            .map(Class::getSimpleName)
+            .collect(Collectors.joining(", "));
+    return repositoryName(proxyClass) + "." + method.getName() + "(" + parameters + ")";
+  }
+
+  // Spring Data 리포지토리는 JDK 프록시이므로 구현한 리포지토리 인터페이스 이름을 사용
+  private static String repositoryName(Class<?> proxyClass) {
+    for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(proxyClass)) {
+      if (Repository.class.isAssignableFrom(ifc)
+          && !ifc.getName().startsWith("org.springframework.")) {
+        return ifc.getSimpleName();
+      }
+    }
+    return ClassUtils.getUserClass(proxyClass).getSimpleName();
+  }
+}
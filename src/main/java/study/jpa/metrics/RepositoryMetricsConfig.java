@@ -0,0 +1,23 @@
+package study.jpa.metrics;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RepositoryMetricsConfig {
+
+  // Spring Data 리포지토리(MemberRepository, TeamRepository, ItemRepository)와
+  // @Repository 클래스(MemberJpaRepository, TeamJpaRepository)
+  @Bean
+  public Advisor repositoryMetricsAdvisor(RepositoryMetrics repositoryMetrics) {
+    AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+    pointcut.setExpression(
+        "this(org.springframework.data.repository.Repository)"
+            + " || @within(org.springframework.stereotype.Repository)");
+    return new DefaultPointcutAdvisor(
+        pointcut, new RepositoryMetricsInterceptor(repositoryMetrics));
+  }
+}
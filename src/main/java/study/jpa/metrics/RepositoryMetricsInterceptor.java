@@ -0,0 +1,74 @@
+package study.jpa.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.data.domain.Slice;
+import study.jpa.sql.Infrastructure;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// @Aspect 의 JoinPoint 와 달리 MethodInvocation 에서 바로 Method 를 얻으므로 호출마다 추가 객체를 만들지 않음
+@RequiredArgsConstructor
+@Infrastructure
+public class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+  // 실행 중인 리포지토리 메서드 (SlowQueryListener 에서 SQL 을 실행한 메서드를 기록할 때 사용)
+  private static final ThreadLocal<MethodMetrics> CURRENT = new ThreadLocal<>();
+
+  private final RepositoryMetrics repositoryMetrics;
+
+  public static String currentMethod() {
+    MethodMetrics metrics = CURRENT.get();
+    return metrics == null ? null : metrics.getName();
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    if (!(invocation instanceof ProxyMethodInvocation)) {
+      return invocation.proceed();
+    }
+
+    MethodMetrics metrics =
+        repositoryMetrics.get(
+            ((ProxyMethodInvocation) invocation).getProxy().getClass(), invocation.getMethod());
+    MethodMetrics previous = CURRENT.get();
+    CURRENT.set(metrics);
+    long start = System.nanoTime();
+    Object result = null;
+    boolean failed = true;
+    try {
+      result = invocation.proceed();
+      failed = false;
+      return result;
+    } finally {
+      metrics.record(System.nanoTime() - start, rows(result), failed);
+      CURRENT.set(previous);
+    }
+  }
+
+  // count 같은 집계 결과와 Stream 은 행 수를 알 수 없으므로 0, @Modifying 의 int 는 변경된 행 수
+  private static long rows(Object result) {
+    if (result == null) {
+      return 0;
+    }
+    if (result instanceof Collection) {
+      return ((Collection<?>) result).size();
+    }
+    if (result instanceof Slice) {
+      return ((Slice<?>) result).getNumberOfElements();
+    }
+    if (result instanceof Optional) {
+      return ((Optional<?>) result).isPresent() ? 1 : 0;
+    }
+    if (result instanceof Integer) {
+      return (Integer) result;
+    }
+    if (result instanceof Number || result instanceof Boolean || result instanceof AutoCloseable) {
+      return 0;
+    }
+    return 1;
+  }
+}
@@ -0,0 +1,10 @@
+package study.jpa.repository;
+
+import java.util.List;
+
+public interface ItemRepositoryCustom {
+
+  int insertAllBatched(List<String> ids, int batchSize);
+
+  int upsertAllBatched(List<String> ids, int batchSize);
+}
@@ -0,0 +1,75 @@
+package study.jpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// 영속성 컨텍스트와 Auditing 콜백을 거치지 않고 JDBC batch 로 직접 저장하므로 이미 로딩된 Item 엔티티에는 반영되지 않음
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+  private static final String INSERT_SQL = "insert into item (id, created_date) values (?, ?)";
+
+  // 존재 여부를 엔티티 단위로 확인하지 않고 DB 의 MERGE 로 없는 id 만 저장
+  private static final String UPSERT_SQL =
+      "merge into item i"
+          + " using (values (cast(? as varchar), cast(? as timestamp))) s (id, created_date)"
+          + " on i.id = s.id"
+          + " when not matched then insert (id, created_date) values (s.id, s.created_date)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  @Transactional
+  public int insertAllBatched(List<String> ids, int batchSize) {
+    return executeBatched(INSERT_SQL, ids, batchSize);
+  }
+
+  @Override
+  @Transactional
+  public int upsertAllBatched(List<String> ids, int batchSize) {
+    return executeBatched(UPSERT_SQL, ids, batchSize);
+  }
+
+  private int executeBatched(String sql, List<String> ids, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    }
+
+    int affected = 0;
+    for (int from = 0; from < ids.size(); from += batchSize) {
+      List<String> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+      Timestamp createdDate = Timestamp.valueOf(LocalDateTime.now());
+
+      int[] counts =
+          jdbcTemplate.batchUpdate(
+              sql,
+              new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                  ps.setString(1, batch.get(i));
+                  ps.setTimestamp(2, createdDate);
+                }
+
+                @Override
+                public int getBatchSize() {
+                  return batch.size();
+                }
+              });
+
+      for (int count : counts) {
+        if (count > 0) {
+          affected += count;
+        }
+      }
+    }
+    return affected;
+  }
+}
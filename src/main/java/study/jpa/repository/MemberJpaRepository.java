@@ -18,6 +18,24 @@ public class MemberJpaRepository {
     return member;
   }
 
+  // batchSize 단위로 flush(JDBC batch insert) 후 clear 하여 영속성 컨텍스트가 커지지 않도록 함
+  public void saveAllBatched(Iterable<Member> members, int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+    }
+
+    int count = 0;
+    for (Member member : members) {
+      em.persist(member);
+      if (++count % batchSize == 0) {
+        em.flush();
+        em.clear();
+      }
+    }
+    em.flush();
+    em.clear();
+  }
+
   public void delete(Member member) {
     em.remove(member);
   }
@@ -69,7 +87,9 @@ public class MemberJpaRepository {
   }
 
   public int bulkAgePlus(int age) {
-    return em.createQuery("update Member m set m.age = m.age + 1 where m.age >= :age")
+    return em.createQuery(
+            "update Member m set m.age = m.age + 1, m.version = m.version + 1"
+                + " where m.age >= :age")
         .setParameter("age", age)
         .executeUpdate();
   }
@@ -0,0 +1,200 @@
+package study.jpa.repository;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.stereotype.Component;
+import study.jpa.dto.ProjectionStatisticsDto;
+import study.jpa.entity.Member;
+
+import javax.annotation.PostConstruct;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+// findProjectionsByUsername(username, type) 의 프로젝션 타입별 조회 컬럼과 변환 방법을 미리 분석해 캐시
+// - DTO 클래스: 생성자 파라미터 이름으로 컬럼을 정하고 생성자 MethodHandle 로 생성
+// - 닫힌 인터페이스: getter 로 컬럼을 정하고, 행을 프로퍼티 Map 으로 바꿔 ProjectionFactory 로 프록시 생성
+//   (default 메서드, 중첩 프로젝션, equals/hashCode 는 Spring Data 프로젝션 그대로. 구현 클래스를 등록하면 생성자 사용)
+// - 열린 인터페이스(@Value SpEL): 엔티티를 조회해 프록시 생성
+// 중첩 프로퍼티(team.name)는 left join 한 컬럼 하나로 펼쳐서 조회
+@Component
+public class MemberProjectionRegistry {
+
+  private static final String MEMBER_ALIAS = "m";
+
+  private final ProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+  private final ParameterNameDiscoverer parameterNameDiscoverer =
+      new DefaultParameterNameDiscoverer();
+  private final ConcurrentMap<Class<?>, ProjectionMetadata> metadata = new ConcurrentHashMap<>();
+
+  // 등록된 타입을 분석할 수 없으면 애플리케이션 시작 시 실패
+  @PostConstruct
+  public void registerKnownProjections() {
+    register(UsernameOnlyDto.class, UsernameOnlyDto.class);
+    register(UserNameOnly.class, UserNameOnly.class);
+    register(NestedClosedProjections.class, NestedClosedProjectionsDto.class);
+    register(MemberProjection.class, MemberProjection.class);
+  }
+
+  public void register(Class<?> type, Class<?> implementation) {
+    metadata.put(type, analyze(type, implementation));
+  }
+
+  // 등록되지 않은 타입은 처음 사용할 때 분석
+  ProjectionMetadata get(Class<?> type) {
+    ProjectionMetadata projectionMetadata = metadata.get(type);
+    if (projectionMetadata != null) {
+      return projectionMetadata;
+    }
+    return metadata.computeIfAbsent(type, key -> analyze(key, key));
+  }
+
+  public List<ProjectionStatisticsDto> statistics() {
+    return metadata.values().stream()
+        .map(ProjectionMetadata::statistics)
+        .collect(Collectors.toList());
+  }
+
+  private ProjectionMetadata analyze(Class<?> type, Class<?> implementation) {
+    if (!implementation.isInterface()) {
+      return analyzeConstructor(type, implementation);
+    }
+
+    if (!projectionFactory.getProjectionInformation(type).isClosed()) {
+      return new ProjectionMetadata(
+          type,
+          "select m from Member m",
+          row -> projectionFactory.createProjection(type, row));
+    }
+    return analyzeInterface(type);
+  }
+
+  private ProjectionMetadata analyzeConstructor(Class<?> type, Class<?> implementation) {
+    Constructor<?>[] constructors = implementation.getConstructors();
+    if (constructors.length != 1) {
+      throw new IllegalArgumentException(
+          implementation.getName() + " must have exactly one public constructor");
+    }
+    Constructor<?> constructor = constructors[0];
+    String[] names = parameterNameDiscoverer.getParameterNames(constructor);
+    if (names == null) {
+      throw new IllegalStateException(
+          "Cannot discover constructor parameter names of " + implementation.getName());
+    }
+
+    Set<String> joins = new LinkedHashSet<>();
+    List<String> expressions = new ArrayList<>();
+    for (String name : names) {
+      expressions.add(expression(PropertyPath.from(name, Member.class), joins));
+    }
+
+    MethodHandle handle;
+    try {
+      handle =
+          MethodHandles.publicLookup()
+              .unreflectConstructor(constructor)
+              .asSpreader(Object[].class, names.length)
+              .asType(MethodType.methodType(Object.class, Object[].class));
+    } catch (IllegalAccessException e) {
+      throw new IllegalArgumentException(implementation.getName() + " is not accessible", e);
+    }
+
+    boolean single = names.length == 1;
+    return new ProjectionMetadata(
+        type,
+        selectClause(expressions, joins),
+        row -> (Object) handle.invokeExact(single ? new Object[] {row} : (Object[]) row));
+  }
+
+  private ProjectionMetadata analyzeInterface(Class<?> type) {
+    Set<String> joins = new LinkedHashSet<>();
+    List<String> expressions = new ArrayList<>();
+    ProjectionColumns columns = analyzeInterface(type, null, expressions, joins);
+
+    boolean single = expressions.size() == 1;
+    return new ProjectionMetadata(
+        type,
+        selectClause(expressions, joins),
+        row ->
+            projectionFactory.createProjection(
+                type, columns.toMap(single ? new Object[] {row} : (Object[]) row)));
+  }
+
+  // getter 마다 select 절에 컬럼을 추가하고 그 위치를 기록. 중첩 인터페이스(TeamInfo)는 join 컬럼으로 펼침
+  // default 메서드는 다른 getter 로 계산되므로 컬럼을 만들지 않음
+  private ProjectionColumns analyzeInterface(
+      Class<?> type, PropertyPath parent, List<String> expressions, Set<String> joins) {
+    Map<String, Integer> columns = new HashMap<>();
+    Map<String, ProjectionColumns> nested = new HashMap<>();
+
+    for (PropertyDescriptor descriptor :
+        projectionFactory.getProjectionInformation(type).getInputProperties()) {
+      Method getter = descriptor.getReadMethod();
+      if (getter.isDefault()) {
+        continue;
+      }
+      ProjectionExpression computed = getter.getAnnotation(ProjectionExpression.class);
+      if (computed != null) {
+        columns.put(descriptor.getName(), expressions.size());
+        expressions.add(computed.value());
+        continue;
+      }
+
+      PropertyPath path =
+          parent == null
+              ? PropertyPath.from(descriptor.getName(), Member.class)
+              : PropertyPath.from(parent.toDotPath() + "." + descriptor.getName(), Member.class);
+      if (isNestedProjection(descriptor.getPropertyType())) {
+        nested.put(
+            descriptor.getName(),
+            analyzeInterface(descriptor.getPropertyType(), path, expressions, joins));
+      } else {
+        columns.put(descriptor.getName(), expressions.size());
+        expressions.add(expression(path, joins));
+      }
+    }
+    return new ProjectionColumns(columns, nested);
+  }
+
+  private static boolean isNestedProjection(Class<?> propertyType) {
+    return propertyType.isInterface() && !propertyType.getName().startsWith("java.");
+  }
+
+  // 한 단계 연관관계까지만 지원 (team.name -> left join m.team team)
+  private static String expression(PropertyPath path, Set<String> joins) {
+    if (!path.hasNext()) {
+      return MEMBER_ALIAS + "." + path.getSegment();
+    }
+    PropertyPath next = path.next();
+    if (next.hasNext()) {
+      throw new IllegalArgumentException(
+          "Unsupported nested projection path: " + path.toDotPath());
+    }
+    joins.add(path.getSegment());
+    return path.getSegment() + "." + next.getSegment();
+  }
+
+  private static String selectClause(List<String> expressions, Set<String> joins) {
+    StringBuilder jpql = new StringBuilder("select ").append(String.join(", ", expressions));
+    jpql.append(" from Member m");
+    for (String join : joins) {
+      jpql.append(" left join m.").append(join).append(' ').append(join);
+    }
+    return jpql.toString();
+  }
+}
@@ -6,22 +6,31 @@ import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import study.jpa.dto.MemberDto;
+import study.jpa.dto.MemberSnapshot;
 import study.jpa.entity.Member;
+import study.jpa.sql.ChunkedInClause;
 
 import javax.persistence.LockModeType;
 import javax.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// 선언한 쿼리 메서드도 readOnly 트랜잭션으로 실행 (replica 라우팅, 플러시 생략)
+// CRUD 메서드는 SimpleJpaRepository 의 설정을, 변경 메서드는 메서드에 붙인 @Transactional 을 따름
 @Repository
+@Transactional(readOnly = true)
 public interface MemberRepository
     extends JpaRepository<Member, Long>, MemberRepositoryCustom, JpaSpecificationExecutor<Member> {
 
   List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
 
   @Query(name = "Member.findByUsername")
+  @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
   List<Member> findByUsername(@Param("username") String username);
 
   @Query("select m from Member m where m.username = :username and m.age = :age")
@@ -33,26 +42,56 @@ public interface MemberRepository
   @Query("select new study.jpa.dto.MemberDto(m.id, m.username, t.name) from Member m join m.team t")
   List<MemberDto> findMemberDto();
 
+  // 엔티티를 거치지 않고 DTO 로 바로 조회하므로 영속성 컨텍스트 관리(스냅샷, 변경 감지) 대상이 아님
+  @Query(
+      value =
+          "select new study.jpa.dto.MemberDto(m.id, m.username, t.name)"
+              + " from Member m left join m.team t",
+      countQuery = "select count(m) from Member m")
+  Page<MemberDto> findMemberDtoPage(Pageable pageable);
+
+  // 엔티티 대신 읽기 전용 스냅샷으로 조회 (MemberSnapshotCache 로더)
+  @Query(
+      "select new study.jpa.dto.MemberSnapshot(m.id, m.username, m.age)"
+          + " from Member m where m.id = :id")
+  Optional<MemberSnapshot> findSnapshotById(@Param("id") Long id);
+
   @Query("select m from Member m where m.username in :names")
-  List<Member> findByNames(@Param("names") Collection<String> names);
+  List<Member> findByNames(@Param("names") @ChunkedInClause Collection<String> names);
 
   List<Member> findListByUsername(String username);
 
+  @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
   Member findMemberByUsername(String username);
 
+  @QueryHints(value = @QueryHint(name = "org.hibernate.cacheable", value = "true"))
   Optional<Member> findOptionalByUsername(String username);
 
+  // 페이지 내용과 count 쿼리 결과를 쿼리 캐시(member-page region, TTL)에 보관. Member 테이블 변경 시 무효화
+  @QueryHints(
+      value = {
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "member-page")
+      },
+      forCounting = true)
   Page<Member> findByAge(int age, Pageable pageable);
 
   Slice<Member> findSliceByAge(int age, Pageable pageable);
 
+  @QueryHints(
+      value = {
+        @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheRegion", value = "member-page")
+      },
+      forCounting = true)
   @Query(
       value = "select m from Member m left join m.team t",
       countQuery = "select count(m.username) from Member m")
   Page<Member> findMemberAllCountBy(Pageable pageable);
 
+  @Transactional
   @Modifying(clearAutomatically = true) // executeUpdate 수행을 위해 필요
-  @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+  @Query("update Member m set m.age = m.age + 1, m.version = m.version + 1 where m.age >= :age")
   int bulkAgePlus(@Param("age") int age);
 
   @Query("select m from Member m left join fetch m.team")
@@ -73,11 +112,38 @@ public interface MemberRepository
   @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
   Member findReadOnlyByUsername(String username);
 
+  // 전체 결과를 List 로 올리지 않고 fetchSize 단위로 읽어오는 스트림 (트랜잭션 안에서 사용 후 close 필요)
+  // 전체 export 가 Member 2차 캐시 영역을 채워 자주 쓰는 항목을 밀어내지 않도록 캐시를 사용하지 않음
+  @QueryHints(
+      value = {
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE")
+      })
+  @Query("select m from Member m left join fetch m.team")
+  Stream<Member> streamMemberAll();
+
   // Select for Update
+  // lock.timeout 힌트는 WAIT 절을 지원하는 Dialect(Oracle 등)에서만 SQL 에 반영됨
+  // Hibernate 5.6 의 H2Dialect 는 힌트를 무시하고 for update 만 만들므로, H2 에서는 세션의 LOCK_TIMEOUT
+  // (URL 의 ;LOCK_TIMEOUT=3000 등으로 지정)이 대기 시간을 제한함
+  // 잠금은 호출한 트랜잭션이 끝날 때 풀리므로 반드시 트랜잭션 안에서 호출
+  @Transactional(propagation = Propagation.MANDATORY)
   @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(value = @QueryHint(name = "javax.persistence.lock.timeout", value = "3000"))
   List<Member> findLockByUsername(String username);
 
-  <T> List<T> findProjectionsByUsername(@Param("username") String username, Class<T> type);
+  // 다른 트랜잭션이 잠근 행은 기다리지 않고 건너뛰므로 여러 작업자가 서로 겹치지 않는 배치를 점유
+  // 잠금은 호출한 트랜잭션이 끝날 때 풀리므로 반드시 트랜잭션 안에서 호출
+  // 배치로 한 번씩만 처리하는 행이므로 2차 캐시에 넣지 않음
+  @Transactional(propagation = Propagation.MANDATORY)
+  @QueryHints(value = @QueryHint(name = "org.hibernate.cacheMode", value = "IGNORE"))
+  @Query(
+      value =
+          "select * from member where age >= :age"
+              + " order by member_id limit :limit for update skip locked",
+      nativeQuery = true)
+  List<Member> claimBatchByAge(@Param("age") int age, @Param("limit") int limit);
 
   @Query(value = "select * from member where username = ?", nativeQuery = true)
   Member findByNativeQuery(String username);
@@ -1,5 +1,11 @@
 package study.jpa.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpa.dto.MemberCursor;
+import study.jpa.dto.MemberSearchCondition;
 import study.jpa.entity.Member;
 
 import java.util.List;
@@ -7,4 +13,22 @@ import java.util.List;
 public interface MemberRepositoryCustom {
 
   List<Member> findMemberCustom();
+
+  List<Member> findMemberByKeyset(MemberCursor cursor, int size);
+
+  Page<Member> findMemberAllApproximateCount(Pageable pageable);
+
+  long estimateMemberCount();
+
+  // 청크마다 별도 트랜잭션으로 커밋하므로 MemberRepository 의 readOnly 트랜잭션으로 감싸지 않음
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  long bulkAgePlusInChunks(int age, int chunkSize);
+
+  List<Member> search(MemberSearchCondition condition);
+
+  List<NestedClosedProjections> findNestedClosedProjectionsByUsername(String username);
+
+  <T> List<T> findProjectionsByUsername(String username, Class<T> type);
+
+  List<UserNameOnly> findUserNameOnlyByUsername(String username);
 }
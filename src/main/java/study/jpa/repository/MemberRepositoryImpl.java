@@ -1,18 +1,167 @@
 package study.jpa.repository;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.CacheMode;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import study.jpa.bulk.ChunkedUpdateExecutor;
+import study.jpa.dto.MemberCursor;
+import study.jpa.dto.MemberSearchCondition;
 import study.jpa.entity.Member;
 
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
   private final EntityManager em;
+  private final ChunkedUpdateExecutor chunkedUpdateExecutor;
+  private final MemberSearchQueryCache memberSearchQueryCache;
+  private final MemberProjectionRegistry memberProjectionRegistry;
 
   @Override
   public List<Member> findMemberCustom() {
     return em.createQuery("select m from Member m").getResultList();
   }
+
+  // offset 대신 마지막으로 조회한 (username, id) 이후부터 조회하므로 페이지 깊이와 무관하고 count 쿼리도 없음
+  // username 은 null 을 허용하므로 null 을 맨 앞에 두고, null 구간과 이후 구간을 각각 인덱스 범위로 조회
+  // 전체를 훑는 조회이므로 Member 2차 캐시 영역을 채우지 않음 (CacheMode.IGNORE)
+  @Override
+  public List<Member> findMemberByKeyset(MemberCursor cursor, int size) {
+    if (cursor == null) {
+      return em.createQuery(
+              "select m from Member m order by m.username asc nulls first, m.id asc", Member.class)
+          .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+          .setMaxResults(size)
+          .getResultList();
+    }
+
+    if (cursor.getUsername() == null) {
+      List<Member> members =
+          em.createQuery(
+                  "select m from Member m where m.username is null and m.id > :id"
+                      + " order by m.id asc",
+                  Member.class)
+              .setParameter("id", cursor.getId())
+              .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+              .setMaxResults(size)
+              .getResultList();
+      if (members.size() == size) {
+        return members;
+      }
+
+      List<Member> result = new ArrayList<>(members);
+      result.addAll(
+          em.createQuery(
+                  "select m from Member m where m.username is not null"
+                      + " order by m.username asc, m.id asc",
+                  Member.class)
+              .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+              .setMaxResults(size - members.size())
+              .getResultList());
+      return result;
+    }
+
+    // OR 만으로는 (username, member_id) 인덱스 범위 탐색이 되지 않으므로 username >= 조건을 앞에 둠
+    return em.createQuery(
+            "select m from Member m"
+                + " where m.username >= :username"
+                + " and (m.username > :username or m.id > :id)"
+                + " order by m.username asc, m.id asc",
+            Member.class)
+        .setParameter("username", cursor.getUsername())
+        .setParameter("id", cursor.getId())
+        .setHint(QueryHints.HINT_CACHE_MODE, CacheMode.IGNORE)
+        .setMaxResults(size)
+        .getResultList();
+  }
+
+  // 조건 없는 전체 조회는 count(*) 대신 DB 통계의 추정 row 수를 전체 개수로 사용
+  @Override
+  public Page<Member> findMemberAllApproximateCount(Pageable pageable) {
+    String jpql =
+        QueryUtils.applySorting("select m from Member m left join m.team t", pageable.getSort(), "m");
+    TypedQuery<Member> query = em.createQuery(jpql, Member.class);
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+    }
+    return PageableExecutionUtils.getPage(query.getResultList(), pageable, this::estimateMemberCount);
+  }
+
+  // H2 의 테이블 통계 (PostgreSQL 이라면 pg_class.reltuples 등 DB 별 통계로 교체)
+  @Override
+  public long estimateMemberCount() {
+    Object estimate =
+        em.createNativeQuery(
+                "select row_count_estimate from information_schema.tables"
+                    + " where table_name = 'MEMBER'")
+            .getSingleResult();
+    if (estimate == null) {
+      return em.createQuery("select count(m) from Member m", Long.class).getSingleResult();
+    }
+    return ((Number) estimate).longValue();
+  }
+
+  // bulkAgePlus 를 member_id 범위 청크로 나누어 실행 (청크마다 커밋, 중단 시 이어서 실행)
+  @Override
+  public long bulkAgePlusInChunks(int age, int chunkSize) {
+    return chunkedUpdateExecutor.execute(
+        "member-age-plus:" + age,
+        "Member",
+        "update Member m set m.age = m.age + 1, m.version = m.version + 1"
+            + " where m.age >= :age and m.id between :fromId and :toId",
+        Collections.singletonMap("age", age),
+        chunkSize);
+  }
+
+  // Specification 조합은 호출마다 Criteria 를 새로 만들고 JPQL 로 다시 렌더링하므로, 자주 호출되는 검색은 캐시된 JPQL 을 사용
+  @Override
+  public List<Member> search(MemberSearchCondition condition) {
+    TypedQuery<Member> query = em.createQuery(memberSearchQueryCache.get(condition), Member.class);
+    if (condition.hasUsername()) {
+      query.setParameter(MemberSpec.USERNAME_PARAMETER, condition.getUsername());
+    }
+    if (condition.hasTeamName()) {
+      query.setParameter(MemberSpec.TEAM_NAME_PARAMETER, condition.getTeamName());
+    }
+    return query.getResultList();
+  }
+
+  // 중첩 닫힌 프로젝션을 Team 엔티티 전체 조회 + 중첩 프록시 대신 필요한 두 컬럼만 한 번에 조회
+  // (MemberProjectionRegistry 에 등록된 NestedClosedProjectionsDto 생성자 사용)
+  @Override
+  public List<NestedClosedProjections> findNestedClosedProjectionsByUsername(String username) {
+    return findProjectionsByUsername(username, NestedClosedProjections.class);
+  }
+
+  // 프로젝션 타입별 select 절과 변환 방법은 MemberProjectionRegistry 에 미리 분석된 것을 사용
+  @Override
+  public <T> List<T> findProjectionsByUsername(String username, Class<T> type) {
+    if (type.isAssignableFrom(Member.class)) {
+      return em.createQuery("select m from Member m where m.username = :username", type)
+          .setParameter("username", username)
+          .getResultList();
+    }
+
+    ProjectionMetadata metadata = memberProjectionRegistry.get(type);
+    List<?> rows =
+        em.createQuery(metadata.getSelectClause() + " where m.username = :username")
+            .setParameter("username", username)
+            .getResultList();
+    return metadata.convert(rows, type);
+  }
+
+  // UserNameOnly.getUsername 의 @ProjectionExpression 을 select 절에서 계산
+  @Override
+  public List<UserNameOnly> findUserNameOnlyByUsername(String username) {
+    return findProjectionsByUsername(username, UserNameOnly.class);
+  }
 }
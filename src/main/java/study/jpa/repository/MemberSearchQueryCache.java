@@ -0,0 +1,89 @@
+package study.jpa.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import study.jpa.dto.MemberSearchCondition;
+import study.jpa.entity.Member;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// 검색 조건 중 어떤 조건이 활성화됐는지(shape)에 따라 JPQL 을 한 번만 만들어 재사용
+// 같은 JPQL 문자열이므로 Hibernate 쿼리 플랜 캐시도 재사용되어 호출마다 파라미터 바인딩만 수행
+// JPQL 은 MemberSpec 의 Specification 을 파라미터로 조합해 렌더링하므로 조건 정의는 MemberSpec 에만 있음
+@Component
+@RequiredArgsConstructor
+public class MemberSearchQueryCache {
+
+  private static final int USERNAME = 1;
+  private static final int TEAM_NAME = 1 << 1;
+
+  private final EntityManagerFactory emf;
+  private final ConcurrentMap<Integer, String> queries = new ConcurrentHashMap<>();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public String get(MemberSearchCondition condition) {
+    int shape = shape(condition);
+    String jpql = queries.get(shape);
+    if (jpql != null) {
+      hits.increment();
+      return jpql;
+    }
+    misses.increment();
+    return queries.computeIfAbsent(shape, this::render);
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  private static int shape(MemberSearchCondition condition) {
+    int shape = 0;
+    if (condition.hasUsername()) {
+      shape |= USERNAME;
+    }
+    if (condition.hasTeamName()) {
+      shape |= TEAM_NAME;
+    }
+    return shape;
+  }
+
+  private String render(int shape) {
+    Specification<Member> spec = Specification.where(null);
+    if ((shape & TEAM_NAME) != 0) {
+      spec = spec.and(MemberSpec.teamNameParameter());
+    }
+    if ((shape & USERNAME) != 0) {
+      spec = spec.and(MemberSpec.usernameParameter());
+    }
+
+    // 렌더링만 하므로 커넥션은 사용하지 않음
+    EntityManager em = emf.createEntityManager();
+    try {
+      CriteriaBuilder criteriaBuilder = em.getCriteriaBuilder();
+      CriteriaQuery<Member> query = criteriaBuilder.createQuery(Member.class);
+      Root<Member> root = query.from(Member.class);
+      query.select(root);
+      Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+      if (predicate != null) {
+        query.where(predicate);
+      }
+      return em.createQuery(query).unwrap(org.hibernate.query.Query.class).getQueryString();
+    } finally {
+      em.close();
+    }
+  }
+}
@@ -5,23 +5,60 @@ import org.springframework.util.StringUtils;
 import study.jpa.entity.Member;
 import study.jpa.entity.Team;
 
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Join;
 import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
 
 public class MemberSpec {
 
+  static final String USERNAME_PARAMETER = "username";
+  static final String TEAM_NAME_PARAMETER = "teamName";
+
   public static Specification<Member> teamName(final String teamName) {
     return (root, query, criteriaBuilder) -> {
       if (StringUtils.isEmpty(teamName)) {
         return null;
       }
 
-      Join<Member, Team> t = root.join("team", JoinType.INNER);
-      return criteriaBuilder.equal(t.get("name"), teamName);
+      return teamNameEquals(root, criteriaBuilder, criteriaBuilder.literal(teamName));
     };
   }
 
   public static Specification<Member> username(final String username) {
-    return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("username"), username);
+    return (root, query, criteriaBuilder) ->
+        usernameEquals(root, criteriaBuilder, value(criteriaBuilder, username));
+  }
+
+  // 값 대신 이름 있는 파라미터와 비교하는 같은 조건 (MemberSearchQueryCache 가 JPQL 을 렌더링할 때 사용)
+  static Specification<Member> teamNameParameter() {
+    return (root, query, criteriaBuilder) ->
+        teamNameEquals(
+            root, criteriaBuilder, criteriaBuilder.parameter(String.class, TEAM_NAME_PARAMETER));
+  }
+
+  static Specification<Member> usernameParameter() {
+    return (root, query, criteriaBuilder) ->
+        usernameEquals(
+            root, criteriaBuilder, criteriaBuilder.parameter(String.class, USERNAME_PARAMETER));
+  }
+
+  private static Predicate teamNameEquals(
+      Root<Member> root, CriteriaBuilder criteriaBuilder, Expression<String> teamName) {
+    Join<Member, Team> t = root.join("team", JoinType.INNER);
+    return criteriaBuilder.equal(t.get("name"), teamName);
+  }
+
+  private static Predicate usernameEquals(
+      Root<Member> root, CriteriaBuilder criteriaBuilder, Expression<String> username) {
+    return criteriaBuilder.equal(root.get("username"), username);
+  }
+
+  private static Expression<String> value(CriteriaBuilder criteriaBuilder, String value) {
+    return value == null
+        ? criteriaBuilder.nullLiteral(String.class)
+        : criteriaBuilder.literal(value);
   }
 }
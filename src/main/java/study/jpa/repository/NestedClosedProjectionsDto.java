@@ -0,0 +1,39 @@
+package study.jpa.repository;
+
+// NestedClosedProjections 를 프록시 대신 평범한 클래스로 구현
+// username, team.name 두 컬럼만 조회한 결과로 생성 (MemberRepositoryImpl.findNestedClosedProjectionsByUsername)
+public class NestedClosedProjectionsDto implements NestedClosedProjections {
+
+  private final String username;
+  private final TeamInfo team;
+
+  // left join 이므로 팀이 없으면 teamName 이 null 이고 getTeam() 도 null
+  public NestedClosedProjectionsDto(String username, String teamName) {
+    this.username = username;
+    this.team = teamName == null ? null : new TeamInfoDto(teamName);
+  }
+
+  @Override
+  public String getUsername() {
+    return username;
+  }
+
+  @Override
+  public TeamInfo getTeam() {
+    return team;
+  }
+
+  static class TeamInfoDto implements TeamInfo {
+
+    private final String name;
+
+    TeamInfoDto(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public String getName() {
+      return name;
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package study.jpa.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// 닫힌 인터페이스 프로젝션의 프로퍼티 -> select 절 컬럼 위치 (중첩 프로젝션은 하위 ProjectionColumns)
+// 행을 프로퍼티 Map 으로 바꿔 Spring Data ProjectionFactory 에 넘기므로 프록시 동작은 Spring Data 를 따름
+final class ProjectionColumns {
+
+  private final Map<String, Integer> columns;
+  private final Map<String, ProjectionColumns> nested;
+
+  ProjectionColumns(Map<String, Integer> columns, Map<String, ProjectionColumns> nested) {
+    this.columns = columns;
+    this.nested = nested;
+  }
+
+  // left join 대상이 없어 중첩 프로젝션의 컬럼이 모두 null 이면 프로퍼티도 null
+  Map<String, Object> toMap(Object[] row) {
+    Map<String, Object> values = new HashMap<>();
+    columns.forEach((property, column) -> values.put(property, row[column]));
+    nested.forEach(
+        (property, projection) ->
+            values.put(property, projection.isEmpty(row) ? null : projection.toMap(row)));
+    return values;
+  }
+
+  private boolean isEmpty(Object[] row) {
+    for (Integer column : columns.values()) {
+      if (row[column] != null) {
+        return false;
+      }
+    }
+    for (ProjectionColumns projection : nested.values()) {
+      if (!projection.isEmpty(row)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,14 @@
+package study.jpa.repository;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 프로젝션 getter 의 값을 계산할 JPQL 식 (Member 별칭은 m). SpEL(@Value) 대신 select 절에서 계산
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ProjectionExpression {
+
+  String value();
+}
@@ -0,0 +1,57 @@
+package study.jpa.repository;
+
+import study.jpa.dto.ProjectionStatisticsDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+// 프로젝션 타입 하나의 조회 컬럼(select 절)과 행 변환 방법, 변환에 걸린 시간
+class ProjectionMetadata {
+
+  interface RowMapper {
+    Object map(Object row) throws Throwable;
+  }
+
+  private final Class<?> type;
+  private final String selectClause;
+  private final RowMapper rowMapper;
+
+  private final LongAdder queries = new LongAdder();
+  private final LongAdder rows = new LongAdder();
+  private final LongAdder conversionNanos = new LongAdder();
+
+  ProjectionMetadata(Class<?> type, String selectClause, RowMapper rowMapper) {
+    this.type = type;
+    this.selectClause = selectClause;
+    this.rowMapper = rowMapper;
+  }
+
+  // select ... from Member m [left join m.team team]
+  String getSelectClause() {
+    return selectClause;
+  }
+
+  <T> List<T> convert(List<?> resultList, Class<T> resultType) {
+    long start = System.nanoTime();
+    List<T> result = new ArrayList<>(resultList.size());
+    try {
+      for (Object row : resultList) {
+        result.add(resultType.cast(rowMapper.map(row)));
+      }
+    } catch (RuntimeException | Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException("Failed to convert row to " + type.getName(), e);
+    }
+    conversionNanos.add(System.nanoTime() - start);
+    rows.add(resultList.size());
+    queries.increment();
+    return result;
+  }
+
+  ProjectionStatisticsDto statistics() {
+    return new ProjectionStatisticsDto(
+        type.getName(), selectClause, queries.sum(), rows.sum(), conversionNanos.sum());
+  }
+}
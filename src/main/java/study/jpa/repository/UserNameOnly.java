@@ -1,9 +1,9 @@
 package study.jpa.repository;
 
-import org.springframework.beans.factory.annotation.Value;
-
 public interface UserNameOnly {
 
-  @Value("#{target.username + ' ' + target.age}")
+  // SpEL(@Value("#{target.username + ' ' + target.age}")) 대신 select 절에서 계산
+  // 엔티티 로딩과 행마다 SpEL 평가 없이 닫힌(closed) 프로젝션으로 조회 (MemberProjectionRegistry)
+  @ProjectionExpression("concat(m.username, ' ', cast(m.age as string))")
   String getUsername();
 }
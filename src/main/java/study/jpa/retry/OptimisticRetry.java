@@ -0,0 +1,18 @@
+package study.jpa.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 낙관적 락 충돌 시 메서드 전체(조회 + 변경)를 새 트랜잭션으로 다시 실행
+// @Transactional 메서드에 함께 붙이면 트랜잭션 바깥에서 재시도함
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OptimisticRetry {
+
+  int maxAttempts() default 3;
+
+  // 재시도마다 2배씩 증가 (+ 최대 같은 크기의 jitter)
+  long backoffMillis() default 50;
+}
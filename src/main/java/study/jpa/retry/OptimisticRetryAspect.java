@@ -0,0 +1,53 @@
+package study.jpa.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.jpa.sql.Infrastructure;
+
+import javax.persistence.OptimisticLockException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 트랜잭션 어드바이스(LOWEST_PRECEDENCE)보다 바깥에서 실행되어야 재시도마다 새 트랜잭션과 영속성 컨텍스트를 사용
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@Infrastructure
+public class OptimisticRetryAspect {
+
+  @Around("@annotation(retry)")
+  public Object retry(ProceedingJoinPoint joinPoint, OptimisticRetry retry) throws Throwable {
+    // 이미 진행 중인 트랜잭션 안이라면 같은 트랜잭션에서 재시도해도 의미가 없으므로 바깥 호출에 맡김
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      return joinPoint.proceed();
+    }
+
+    int attempt = 1;
+    while (true) {
+      try {
+        return joinPoint.proceed();
+      } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+        if (attempt >= retry.maxAttempts()) {
+          throw e;
+        }
+        long backoff = retry.backoffMillis() << (attempt - 1);
+        long sleep = backoff + ThreadLocalRandom.current().nextLong(backoff + 1);
+        log.debug(
+            "{} optimistic lock conflict, retry {}/{} after {}ms",
+            joinPoint.getSignature().toShortString(),
+            attempt,
+            retry.maxAttempts(),
+            sleep);
+        Thread.sleep(sleep);
+        attempt++;
+      }
+    }
+  }
+}
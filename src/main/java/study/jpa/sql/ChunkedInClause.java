@@ -0,0 +1,12 @@
+package study.jpa.sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 긍정 IN 조건(x in :values)에만 사용하는 컬렉션 파라미터에 붙이면 max-size 단위로 나누어 조회하고 결과를 합침 (InClauseChunkingAspect)
+// 청크 결과를 이어 붙이므로 NOT IN, order by, Top/First, 페이징, 집계 쿼리와 save/delete 에는 사용하지 않음
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ChunkedInClause {}
@@ -0,0 +1,104 @@
+package study.jpa.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// @ChunkedInClause 컬렉션 파라미터가 max-size 를 넘으면 여러 쿼리로 나누어 실행하고 결과를 합침 (DB 파라미터 수 제한 회피)
+// 나머지 크기는 hibernate.query.in_clause_parameter_padding 으로 2의 거듭제곱 단위로 맞춰지므로
+// max-size 도 2의 거듭제곱으로 두면 청크마다 같은 SQL 을 재사용
+// 명시적으로 표시한 쿼리 메서드에만 적용하므로 saveAll, findAllById, deleteAllById 등은 그대로 실행
+@Slf4j
+@Aspect
+@Component
+@Infrastructure
+public class InClauseChunkingAspect {
+
+  private static final int NONE = -1;
+
+  private final int maxSize;
+  // 메서드별 @ChunkedInClause 파라미터 위치 (없으면 NONE)
+  private final ConcurrentMap<Method, Integer> chunkedParameters = new ConcurrentHashMap<>();
+
+  public InClauseChunkingAspect(@Value("${repository.in-clause.max-size:512}") int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  @Around("this(study.jpa.repository.MemberRepository)")
+  public Object chunk(ProceedingJoinPoint joinPoint) throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    int index = chunkedParameters.computeIfAbsent(method, InClauseChunkingAspect::chunkedParameter);
+    Object[] args = joinPoint.getArgs();
+    if (index == NONE
+        || args[index] == null
+        || ((Collection<?>) args[index]).size() <= maxSize) {
+      return joinPoint.proceed();
+    }
+
+    // 긍정 IN 조건에서 중복 값은 의미가 없고, 청크를 넘나드는 중복은 결과 중복이 되므로 제거
+    List<Object> values = new ArrayList<>(new LinkedHashSet<>((Collection<?>) args[index]));
+    log.debug(
+        "{} : split {} values into chunks of {}",
+        joinPoint.getSignature().toShortString(),
+        values.size(),
+        maxSize);
+
+    List<Object> result = new ArrayList<>();
+    for (int from = 0; from < values.size(); from += maxSize) {
+      Object[] chunkArgs = args.clone();
+      chunkArgs[index] = values.subList(from, Math.min(from + maxSize, values.size()));
+      Collection<?> chunkResult = (Collection<?>) joinPoint.proceed(chunkArgs);
+      if (chunkResult != null) {
+        result.addAll(chunkResult);
+      }
+    }
+    return result;
+  }
+
+  // 결과를 이어 붙일 수 없는 메서드에 붙였다면 첫 호출에서 실패
+  private static int chunkedParameter(Method method) {
+    Annotation[][] annotations = method.getParameterAnnotations();
+    int index = NONE;
+    for (int i = 0; i < annotations.length; i++) {
+      for (Annotation annotation : annotations[i]) {
+        if (annotation instanceof ChunkedInClause) {
+          index = i;
+        }
+      }
+    }
+    if (index == NONE) {
+      return NONE;
+    }
+
+    if (!Collection.class.isAssignableFrom(method.getParameterTypes()[index])) {
+      throw new IllegalStateException(
+          "@ChunkedInClause requires a Collection parameter: " + method);
+    }
+    if (!method.getReturnType().isAssignableFrom(ArrayList.class)) {
+      throw new IllegalStateException("@ChunkedInClause requires a List return type: " + method);
+    }
+    for (Class<?> parameterType : method.getParameterTypes()) {
+      if (Pageable.class.isAssignableFrom(parameterType)
+          || Sort.class.isAssignableFrom(parameterType)) {
+        throw new IllegalStateException(
+            "@ChunkedInClause cannot be used with paging or sorting: " + method);
+      }
+    }
+    return index;
+  }
+}
@@ -0,0 +1,11 @@
+package study.jpa.sql;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 리포지토리 호출이나 SQL 실행을 감싸는 인프라 클래스. SlowQueryListener 가 호출 위치를 찾을 때 건너뜀
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Infrastructure {}
@@ -0,0 +1,75 @@
+package study.jpa.sql;
+
+import lombok.Getter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 요청(또는 테스트) 하나에서 실행된 SQL 수와 엔티티 로딩 수. batch 실행은 statement 1건 + batch 1건으로 집계
+@Getter
+public class QueryCount {
+
+  private int select;
+  private int insert;
+  private int update;
+  private int delete;
+  private int other;
+  private int batch;
+  private int entityLoad;
+
+  private final Map<String, Integer> statements = new LinkedHashMap<>();
+
+  void countStatement(String sql) {
+    if (sql == null) {
+      return;
+    }
+
+    String shape = sql.trim();
+    String prefix = shape.length() < 6 ? shape.toLowerCase() : shape.substring(0, 6).toLowerCase();
+    if (prefix.startsWith("select")) {
+      select++;
+    } else if (prefix.startsWith("insert")) {
+      insert++;
+    } else if (prefix.startsWith("update")) {
+      update++;
+    } else if (prefix.startsWith("delete")) {
+      delete++;
+    } else {
+      other++;
+    }
+    statements.merge(shape, 1, Integer::sum);
+  }
+
+  void countBatch() {
+    batch++;
+  }
+
+  void countEntityLoad() {
+    entityLoad++;
+  }
+
+  public int getTotal() {
+    return select + insert + update + delete + other;
+  }
+
+  // 같은 모양의 SQL 이 threshold 번 이상 실행됐다면 N + 1 을 의심할 수 있음
+  public Map<String, Integer> getRepeatedStatements(int threshold) {
+    return statements.entrySet().stream()
+        .filter(e -> e.getValue() >= threshold)
+        .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+  }
+
+  @Override
+  public String toString() {
+    return "QueryCount{"
+        + "select=" + select
+        + ", insert=" + insert
+        + ", update=" + update
+        + ", delete=" + delete
+        + ", other=" + other
+        + ", batch=" + batch
+        + ", entityLoad=" + entityLoad
+        + '}';
+  }
+}
@@ -0,0 +1,37 @@
+package study.jpa.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// 리포지토리 메서드 호출 단위로 실행된 SQL 수를 기록 (집계 중인 스레드에서만 동작)
+@Slf4j
+@Aspect
+@Component
+@Infrastructure
+public class QueryCountAspect {
+
+  @Around(
+      "this(org.springframework.data.repository.Repository)"
+          + " || @within(org.springframework.stereotype.Repository)")
+  public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+    QueryCount count = QueryCountHolder.get();
+    if (count == null) {
+      return joinPoint.proceed();
+    }
+
+    int statementsBefore = count.getTotal();
+    int entityLoadsBefore = count.getEntityLoad();
+    try {
+      return joinPoint.proceed();
+    } finally {
+      log.debug(
+          "{} : statements={}, entityLoads={}",
+          joinPoint.getSignature().toShortString(),
+          count.getTotal() - statementsBefore,
+          count.getEntityLoad() - entityLoadsBefore);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package study.jpa.sql;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryCountConfig {
+
+  @Bean
+  public HibernatePropertiesCustomizer queryCountInterceptorCustomizer() {
+    return properties -> properties.put(AvailableSettings.INTERCEPTOR, new QueryCountInterceptor());
+  }
+}
@@ -0,0 +1,44 @@
+package study.jpa.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+@Slf4j
+@Component
+@Infrastructure
+public class QueryCountFilter extends OncePerRequestFilter {
+
+  private final int repeatThreshold;
+
+  public QueryCountFilter(@Value("${query-count.repeat-threshold:3}") int repeatThreshold) {
+    this.repeatThreshold = repeatThreshold;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    QueryCount count = QueryCountHolder.start();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      QueryCountHolder.clear();
+
+      String requestName = request.getMethod() + " " + request.getRequestURI();
+      log.info("[{}] {}", requestName, count);
+      for (Map.Entry<String, Integer> repeated :
+          count.getRepeatedStatements(repeatThreshold).entrySet()) {
+        log.warn("[{}] N + 1 의심: {}회 실행 - {}", requestName, repeated.getValue(), repeated.getKey());
+      }
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package study.jpa.sql;
+
+public class QueryCountHolder {
+
+  private static final ThreadLocal<QueryCount> holder = new ThreadLocal<>();
+
+  private QueryCountHolder() {}
+
+  public static QueryCount start() {
+    QueryCount count = new QueryCount();
+    holder.set(count);
+    return count;
+  }
+
+  // 집계를 시작하지 않은 스레드에서는 null
+  public static QueryCount get() {
+    return holder.get();
+  }
+
+  public static void clear() {
+    holder.remove();
+  }
+}
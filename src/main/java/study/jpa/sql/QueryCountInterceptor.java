@@ -0,0 +1,20 @@
+package study.jpa.sql;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.type.Type;
+
+import java.io.Serializable;
+
+@Infrastructure
+public class QueryCountInterceptor extends EmptyInterceptor {
+
+  @Override
+  public boolean onLoad(
+      Object entity, Serializable id, Object[] state, String[] propertyNames, Type[] types) {
+    QueryCount count = QueryCountHolder.get();
+    if (count != null) {
+      count.countEntityLoad();
+    }
+    return false;
+  }
+}
@@ -0,0 +1,35 @@
+package study.jpa.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+
+// p6spy-spring-boot-starter 가 JdbcEventListener 빈을 자동으로 등록
+@Component
+@Infrastructure
+public class QueryCountListener extends SimpleJdbcEventListener {
+
+  @Override
+  public void onAfterExecuteBatch(
+      StatementInformation statementInformation,
+      long timeElapsedNanos,
+      int[] updateCounts,
+      SQLException e) {
+    QueryCount count = QueryCountHolder.get();
+    if (count != null) {
+      count.countBatch();
+    }
+    super.onAfterExecuteBatch(statementInformation, timeElapsedNanos, updateCounts, e);
+  }
+
+  @Override
+  public void onAfterAnyExecute(
+      StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+    QueryCount count = QueryCountHolder.get();
+    if (count != null) {
+      count.countStatement(statementInformation.getSql());
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package study.jpa.sql;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// EXPLAIN 결과는 비동기로 채워지므로 volatile
+@Getter
+public class SlowQuery {
+
+  private final long sequence;
+  private final LocalDateTime occurredAt;
+  private final long elapsedMillis;
+  private final String sql;
+  private final String sqlWithValues;
+  private final String repositoryMethod;
+  private final String callerFrame;
+  private final String error;
+  private volatile String explain;
+
+  public SlowQuery(
+      long sequence,
+      LocalDateTime occurredAt,
+      long elapsedMillis,
+      String sql,
+      String sqlWithValues,
+      String repositoryMethod,
+      String callerFrame,
+      String error) {
+    this.sequence = sequence;
+    this.occurredAt = occurredAt;
+    this.elapsedMillis = elapsedMillis;
+    this.sql = sql;
+    this.sqlWithValues = sqlWithValues;
+    this.repositoryMethod = repositoryMethod;
+    this.callerFrame = callerFrame;
+    this.error = error;
+  }
+
+  void setExplain(String explain) {
+    this.explain = explain;
+  }
+}
@@ -0,0 +1,82 @@
+package study.jpa.sql;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.jpa.metrics.RepositoryMetricsInterceptor;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// threshold 이상 걸린 SQL 을 바인딩 값, 실행한 리포지토리 메서드, 호출 위치와 함께 SlowQueryLog 에 기록
+@Slf4j
+@Component
+@Infrastructure
+public class SlowQueryListener extends SimpleJdbcEventListener {
+
+  private static final StackWalker STACK_WALKER =
+      StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+  private final SlowQueryLog slowQueryLog;
+  private final long thresholdNanos;
+
+  public SlowQueryListener(
+      SlowQueryLog slowQueryLog,
+      @Value("${slow-query.threshold:200ms}") Duration threshold) {
+    this.slowQueryLog = slowQueryLog;
+    this.thresholdNanos = threshold.toNanos();
+  }
+
+  @Override
+  public void onAfterAnyExecute(
+      StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+    if (timeElapsedNanos < thresholdNanos) {
+      return;
+    }
+
+    SlowQuery slowQuery =
+        new SlowQuery(
+            slowQueryLog.nextSequence(),
+            LocalDateTime.now(),
+            TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos),
+            statementInformation.getSql(),
+            statementInformation.getSqlWithValues(),
+            RepositoryMetricsInterceptor.currentMethod(),
+            callerFrame(),
+            e == null ? null : e.getMessage());
+    log.warn(
+        "slow query {}ms [{}] {}",
+        slowQuery.getElapsedMillis(),
+        slowQuery.getRepositoryMethod(),
+        slowQuery.getSqlWithValues());
+    slowQueryLog.append(slowQuery);
+  }
+
+  // 프록시와 @Infrastructure 클래스를 제외한 애플리케이션 코드 중 가장 가까운 호출 위치
+  private static String callerFrame() {
+    return STACK_WALKER.walk(
+        frames ->
+            frames
+                .filter(SlowQueryListener::isApplicationFrame)
+                .findFirst()
+                .map(StackWalker.StackFrame::toString)
+                .orElse(null));
+  }
+
+  private static boolean isApplicationFrame(StackWalker.StackFrame frame) {
+    String className = frame.getClassName();
+    if (!className.startsWith("study.jpa.") || className.contains("$$")) {
+      return false;
+    }
+    for (Class<?> type = frame.getDeclaringClass(); type != null; type = type.getEnclosingClass()) {
+      if (type.isAnnotationPresent(Infrastructure.class)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
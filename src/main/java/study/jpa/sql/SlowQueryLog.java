@@ -0,0 +1,128 @@
+package study.jpa.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 최근 capacity 개의 느린 쿼리를 보관하는 ring buffer. 오래된 항목부터 덮어씀
+// EXPLAIN 은 별도 스레드에서 실행하고, 대기열이 가득 차면 EXPLAIN 없이 기록만 남김
+@Slf4j
+@Component
+@Infrastructure
+public class SlowQueryLog {
+
+  private final AtomicReferenceArray<SlowQuery> buffer;
+  private final AtomicLong sequence = new AtomicLong();
+  private final boolean explainEnabled;
+  private final ThreadPoolExecutor explainExecutor;
+
+  // JdbcEventListener 는 DataSource 를 감쌀 때 필요하므로 JdbcTemplate(DataSource)은 사용 시점에 조회
+  private final ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+
+  public SlowQueryLog(
+      ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
+      @Value("${slow-query.capacity:200}") int capacity,
+      @Value("${slow-query.explain:true}") boolean explainEnabled) {
+    this.jdbcTemplateProvider = jdbcTemplateProvider;
+    this.buffer = new AtomicReferenceArray<>(capacity);
+    this.explainEnabled = explainEnabled;
+    this.explainExecutor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(100),
+            runnable -> {
+              Thread thread = new Thread(runnable, "slow-query-explain");
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  public long nextSequence() {
+    return sequence.getAndIncrement();
+  }
+
+  public void append(SlowQuery slowQuery) {
+    buffer.set((int) (slowQuery.getSequence() % buffer.length()), slowQuery);
+    if (explainEnabled && isExplainable(slowQuery.getSqlWithValues())) {
+      try {
+        explainExecutor.execute(() -> explain(slowQuery));
+      } catch (RejectedExecutionException e) {
+        log.debug("explain queue is full, skip explain: {}", slowQuery.getSql());
+      }
+    }
+  }
+
+  // 최근 항목부터
+  public List<SlowQuery> findAll(int limit) {
+    List<SlowQuery> result = new ArrayList<>();
+    long last = sequence.get() - 1;
+    long first = Math.max(0, last - buffer.length() + 1);
+    for (long seq = last; seq >= first && result.size() < limit; seq--) {
+      SlowQuery slowQuery = buffer.get((int) (seq % buffer.length()));
+      // 아직 기록 중이거나 이미 덮어쓴 칸은 건너뜀
+      if (slowQuery != null && slowQuery.getSequence() == seq) {
+        result.add(slowQuery);
+      }
+    }
+    return result;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    explainExecutor.shutdownNow();
+  }
+
+  // 값이 바인딩된 SQL 을 그대로 EXPLAIN 하므로 select 한 문장만 허용 (';' 가 있으면 여러 문장일 수 있어 제외)
+  // EXPLAIN 자체도 p6spy 를 거치므로 EXPLAIN 문은 다시 EXPLAIN 하지 않음
+  private static boolean isExplainable(String sql) {
+    if (sql == null || sql.indexOf(';') >= 0) {
+      return false;
+    }
+    return sql.trim().toLowerCase(Locale.ROOT).startsWith("select");
+  }
+
+  private void explain(SlowQuery slowQuery) {
+    try {
+      String plan =
+          jdbcTemplateProvider
+              .getObject()
+              .query(
+                  "explain " + slowQuery.getSqlWithValues(),
+                  rs -> {
+                    ResultSetMetaData metaData = rs.getMetaData();
+                    StringBuilder sb = new StringBuilder();
+                    while (rs.next()) {
+                      for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                        if (i > 1) {
+                          sb.append(' ');
+                        }
+                        sb.append(rs.getString(i));
+                      }
+                      sb.append('\n');
+                    }
+                    return sb.toString();
+                  });
+      slowQuery.setExplain(plan);
+    } catch (RuntimeException e) {
+      slowQuery.setExplain("explain failed: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package study.jpa.audit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.jpa.entity.Member;
+import study.jpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커밋 이후 비동기로 저장되므로 테스트 트랜잭션(@Transactional)을 사용하지 않음
+@SpringBootTest
+class AuditHistoryWriterTest {
+
+  @Autowired MemberRepository memberRepository;
+  @Autowired JdbcTemplate jdbcTemplate;
+
+  @Test
+  public void writeHistoryAfterCommit() throws Exception {
+    // given
+    Member member = memberRepository.save(new Member("auditMember", 10));
+
+    // when
+    member.setAge(11);
+    memberRepository.save(member);
+
+    // then
+    long deadline = System.currentTimeMillis() + 5000;
+    int count = 0;
+    while (System.currentTimeMillis() < deadline) {
+      count = historyCount(member.getId());
+      if (count >= 2) {
+        break;
+      }
+      Thread.sleep(100);
+    }
+    assertThat(count).isEqualTo(2);
+  }
+
+  private int historyCount(Long memberId) {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from audit_history where entity_name = ? and entity_id = ?",
+        Integer.class,
+        Member.class.getName(),
+        String.valueOf(memberId));
+  }
+}
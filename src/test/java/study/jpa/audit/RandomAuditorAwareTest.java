@@ -0,0 +1,22 @@
+package study.jpa.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RandomAuditorAwareTest {
+
+  @Test
+  public void auditorIsVersion4Uuid() {
+    RandomAuditorAware auditorAware = new RandomAuditorAware();
+
+    for (int i = 0; i < 1000; i++) {
+      UUID uuid = UUID.fromString(auditorAware.getCurrentAuditor().orElseThrow());
+
+      assertThat(uuid.version()).isEqualTo(4);
+      assertThat(uuid.variant()).isEqualTo(2);
+    }
+  }
+}
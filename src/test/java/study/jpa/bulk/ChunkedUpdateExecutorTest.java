@@ -0,0 +1,69 @@
+package study.jpa.bulk;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpa.entity.BulkJobCheckpoint;
+import study.jpa.entity.Member;
+import study.jpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 청크마다 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션(@Transactional)을 사용하지 않음
+@SpringBootTest
+class ChunkedUpdateExecutorTest {
+
+  @Autowired MemberRepository memberRepository;
+  @Autowired TransactionTemplate transactionTemplate;
+  @Autowired EntityManager em;
+
+  @Test
+  public void bulkAgePlusInChunks() {
+    // given
+    List<Member> members = saveMembers("chunkMember", 3000, 5);
+
+    // when
+    long updated = memberRepository.bulkAgePlusInChunks(3000, 2);
+
+    // then
+    assertThat(updated).isEqualTo(5);
+    for (Member member : members) {
+      Member findMember = memberRepository.findById(member.getId()).get();
+      assertThat(findMember.getAge()).isEqualTo(member.getAge() + 1);
+    }
+  }
+
+  @Test
+  public void resumeFromCheckpoint() {
+    // given
+    List<Member> members = saveMembers("resumeMember", 2000, 4);
+
+    // 두 번째 회원까지 처리한 뒤 중단된 상황
+    Long lastProcessedId = members.get(1).getId();
+    transactionTemplate.executeWithoutResult(
+        status -> em.persist(new BulkJobCheckpoint("member-age-plus:2000", lastProcessedId)));
+
+    // when
+    long updated = memberRepository.bulkAgePlusInChunks(2000, 10);
+
+    // then
+    assertThat(updated).isEqualTo(2);
+    assertThat(memberRepository.findById(members.get(0).getId()).get().getAge())
+        .isEqualTo(members.get(0).getAge());
+    assertThat(memberRepository.findById(members.get(3).getId()).get().getAge())
+        .isEqualTo(members.get(3).getAge() + 1);
+  }
+
+  private List<Member> saveMembers(String username, int age, int count) {
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      members.add(new Member(username + i, age + i));
+    }
+    return memberRepository.saveAll(members);
+  }
+}
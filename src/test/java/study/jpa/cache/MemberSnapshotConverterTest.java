@@ -0,0 +1,72 @@
+package study.jpa.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpa.dto.MemberSnapshot;
+import study.jpa.entity.Member;
+import study.jpa.repository.MemberRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 커밋 후 무효화를 확인해야 하므로 테스트 트랜잭션(@Transactional)을 사용하지 않음
+@SpringBootTest
+class MemberSnapshotConverterTest {
+
+  @Autowired MemberSnapshotConverter converter;
+  @Autowired MemberSnapshotCache memberSnapshotCache;
+  @Autowired MemberRepository memberRepository;
+  @Autowired TransactionTemplate transactionTemplate;
+
+  @Test
+  public void cacheHit() {
+    // given
+    Member member = memberRepository.save(new Member("snapshotMember", 10));
+    String id = String.valueOf(member.getId());
+
+    // when
+    long hitCount = memberSnapshotCache.stats().hitCount();
+    MemberSnapshot first = converter.convert(id);
+    MemberSnapshot second = converter.convert(id);
+
+    // then
+    assertThat(first.getUsername()).isEqualTo("snapshotMember");
+    assertThat(second).isSameAs(first);
+    assertThat(memberSnapshotCache.stats().hitCount()).isEqualTo(hitCount + 1);
+  }
+
+  @Test
+  public void invalidateOnUpdate() {
+    // given
+    Member member = memberRepository.save(new Member("beforeUpdate", 10));
+    String id = String.valueOf(member.getId());
+    converter.convert(id);
+
+    // when
+    transactionTemplate.executeWithoutResult(
+        status -> memberRepository.findById(member.getId()).get().setUsername("afterUpdate"));
+
+    // then
+    assertThat(converter.convert(id).getUsername()).isEqualTo("afterUpdate");
+  }
+
+  @Test
+  public void invalidateOnBulkUpdate() {
+    // given
+    Member member = memberRepository.save(new Member("bulkSnapshotMember", 4000));
+    String id = String.valueOf(member.getId());
+    converter.convert(id);
+
+    // when
+    transactionTemplate.executeWithoutResult(status -> memberRepository.bulkAgePlus(4000));
+
+    // then
+    assertThat(converter.convert(id).getAge()).isEqualTo(4001);
+  }
+
+  @Test
+  public void notFound() {
+    assertThat(converter.convert("-1")).isNull();
+  }
+}
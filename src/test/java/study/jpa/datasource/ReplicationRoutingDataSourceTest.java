@@ -0,0 +1,72 @@
+package study.jpa.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicationRoutingDataSourceTest {
+
+  DataSource primary = h2("primary");
+  DataSource replica = h2("replica");
+
+  @BeforeEach
+  void setUp() {
+    createMarker(primary, "primary");
+    createMarker(replica, "replica");
+  }
+
+  @AfterEach
+  void tearDown() {
+    new JdbcTemplate(primary).execute("drop table marker");
+    new JdbcTemplate(replica).execute("drop table marker");
+  }
+
+  @Test
+  public void routeByReadOnly() {
+    ReplicationRoutingDataSource dataSource =
+        new ReplicationRoutingDataSource(primary, replica, Duration.ZERO);
+
+    assertThat(currentDatabase(dataSource, false)).isEqualTo("primary");
+    assertThat(currentDatabase(dataSource, true)).isEqualTo("replica");
+  }
+
+  @Test
+  public void readFromPrimaryWithinLagTolerance() {
+    ReplicationRoutingDataSource dataSource =
+        new ReplicationRoutingDataSource(primary, replica, Duration.ofMinutes(1));
+
+    assertThat(currentDatabase(dataSource, true)).isEqualTo("replica");
+
+    // 쓰기 트랜잭션 이후 허용 지연 시간 안의 읽기는 primary
+    currentDatabase(dataSource, false);
+    assertThat(currentDatabase(dataSource, true)).isEqualTo("primary");
+  }
+
+  private String currentDatabase(DataSource dataSource, boolean readOnly) {
+    TransactionTemplate transactionTemplate =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transactionTemplate.setReadOnly(readOnly);
+    return transactionTemplate.execute(
+        status ->
+            new JdbcTemplate(dataSource).queryForObject("select name from marker", String.class));
+  }
+
+  private static DataSource h2(String name) {
+    return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+  }
+
+  private static void createMarker(DataSource dataSource, String name) {
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("create table marker (name varchar(20))");
+    jdbcTemplate.update("insert into marker values (?)", name);
+  }
+}
@@ -0,0 +1,119 @@
+package study.jpa.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpa.entity.Member;
+import study.jpa.repository.MemberRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// JPA 리포지토리 호출이 replica 로 라우팅되는지 확인
+// replica 에는 primary 와 같은 스키마를 만들고 replica 에만 있는 회원을 넣어 어느 DB 에서 읽었는지 구분
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+      "spring.datasource.replica.url=" + ReplicationRoutingRepositoryTest.REPLICA_URL,
+      "spring.datasource.replica.max-lag=0s"
+    })
+class ReplicationRoutingRepositoryTest {
+
+  static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+  private static final long REPLICA_MEMBER_ID = 1_000_000L;
+
+  @Autowired MemberRepository memberRepository;
+  @Autowired JdbcTemplate jdbcTemplate;
+  @Autowired TransactionTemplate transactionTemplate;
+  @Autowired EntityManagerFactory emf;
+
+  JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+  @BeforeEach
+  void setUp() {
+    // 쓰기 트랜잭션 밖의 JdbcTemplate 은 primary 사용
+    List<String> ddl = jdbcTemplate.queryForList("script nodata", String.class);
+    for (String statement : ddl) {
+      if (!statement.startsWith("--")) {
+        replica.execute(statement);
+      }
+    }
+    replica.update(
+        "insert into member (member_id, username, age, version) values (?, ?, ?, ?)",
+        REPLICA_MEMBER_ID,
+        "replicaMember",
+        10,
+        0);
+  }
+
+  @AfterEach
+  void tearDown() {
+    replica.execute("drop all objects");
+  }
+
+  @Test
+  public void declaredQueryMethodReadsReplica() {
+    List<Member> members = memberRepository.findListByUsername("replicaMember");
+
+    assertThat(members).extracting(Member::getId).containsExactly(REPLICA_MEMBER_ID);
+  }
+
+  @Test
+  public void readOnlyHintedMethodReadsReplica() {
+    Member member = memberRepository.findReadOnlyByUsername("replicaMember");
+
+    assertThat(member).isNotNull();
+  }
+
+  @Test
+  public void writeTransactionUsesPrimary() {
+    List<Member> members =
+        transactionTemplate.execute(
+            status -> {
+              memberRepository.save(new Member("primaryMember", 20));
+              return memberRepository.findListByUsername("replicaMember");
+            });
+
+    assertThat(members).isEmpty();
+    Integer replicaCount =
+        replica.queryForObject(
+            "select count(*) from member where username = 'primaryMember'", Integer.class);
+    assertThat(replicaCount).isZero();
+  }
+
+  @Test
+  public void writeAfterReadInSameEntityManagerUsesPrimary() {
+    // open-in-view 처럼 요청 범위 EntityManager 를 바인딩한 상태에서 읽기 후 쓰기
+    EntityManager em = emf.createEntityManager();
+    TransactionSynchronizationManager.bindResource(emf, new EntityManagerHolder(em));
+    try {
+      assertThat(memberRepository.findListByUsername("replicaMember")).hasSize(1);
+
+      transactionTemplate.executeWithoutResult(
+          status -> memberRepository.save(new Member("afterReadMember", 20)));
+    } finally {
+      TransactionSynchronizationManager.unbindResource(emf);
+      EntityManagerFactoryUtils.closeEntityManager(em);
+    }
+
+    Integer primaryCount =
+        jdbcTemplate.queryForObject(
+            "select count(*) from member where username = 'afterReadMember'", Integer.class);
+    Integer replicaCount =
+        replica.queryForObject(
+            "select count(*) from member where username = 'afterReadMember'", Integer.class);
+    assertThat(primaryCount).isEqualTo(1);
+    assertThat(replicaCount).isZero();
+  }
+}
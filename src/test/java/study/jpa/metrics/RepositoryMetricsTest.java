@@ -0,0 +1,56 @@
+package study.jpa.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.jpa.dto.RepositoryMethodMetricsDto;
+import study.jpa.entity.Member;
+import study.jpa.repository.MemberJpaRepository;
+import study.jpa.repository.MemberRepository;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class RepositoryMetricsTest {
+
+  @Autowired MemberRepository memberRepository;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired RepositoryMetrics repositoryMetrics;
+
+  @Test
+  public void recordSpringDataRepository() {
+    // given
+    memberRepository.save(new Member("metricsA", 10));
+    memberRepository.save(new Member("metricsB", 20));
+
+    // when
+    memberRepository.findByNames(Arrays.asList("metricsA", "metricsB"));
+
+    // then
+    RepositoryMethodMetricsDto metrics = find("MemberRepository.findByNames(Collection)");
+    assertThat(metrics.getInvocations()).isGreaterThanOrEqualTo(1);
+    assertThat(metrics.getRows()).isGreaterThanOrEqualTo(2);
+    assertThat(metrics.getP999Micros()).isGreaterThanOrEqualTo(metrics.getP50Micros());
+  }
+
+  @Test
+  public void recordRepositoryClass() {
+    // when
+    memberJpaRepository.save(new Member("metricsC", 30));
+
+    // then
+    RepositoryMethodMetricsDto metrics = find("MemberJpaRepository.save(Member)");
+    assertThat(metrics.getInvocations()).isGreaterThanOrEqualTo(1);
+  }
+
+  private RepositoryMethodMetricsDto find(String method) {
+    return repositoryMetrics.snapshot().stream()
+        .filter(metrics -> metrics.getMethod().equals(method))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError(method + " 기록 없음"));
+  }
+}
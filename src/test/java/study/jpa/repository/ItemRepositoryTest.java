@@ -5,6 +5,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import study.jpa.entity.Item;
 
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 class ItemRepositoryTest {
 
@@ -15,4 +20,20 @@ class ItemRepositoryTest {
     Item item = new Item("A");
     itemRepository.save(item);
   }
+
+  @Test
+  public void bulkInsertAndUpsert() {
+    // given
+    List<String> ids = Arrays.asList("bulk-1", "bulk-2", "bulk-3");
+
+    // when
+    int inserted = itemRepository.insertAllBatched(ids, 2);
+    int upserted = itemRepository.upsertAllBatched(Arrays.asList("bulk-3", "bulk-4"), 2);
+
+    // then
+    assertThat(inserted).isEqualTo(3);
+    assertThat(upserted).isEqualTo(1);
+    assertThat(itemRepository.findById("bulk-4")).isPresent();
+    assertThat(itemRepository.findById("bulk-1").get().isNew()).isFalse();
+  }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package study.jpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpa.entity.Member;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 두 트랜잭션이 각자의 커넥션에서 동시에 점유해야 하므로 테스트 트랜잭션(@Transactional)을 사용하지 않음
+@SpringBootTest
+class MemberClaimBatchTest {
+
+  @Autowired MemberRepository memberRepository;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  @Test
+  public void concurrentClaimsAreDisjoint() {
+    // given
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      members.add(new Member("claimBatchMember" + i, 9000));
+    }
+    memberRepository.saveAll(members);
+
+    TransactionTemplate first = new TransactionTemplate(transactionManager);
+    TransactionTemplate second = new TransactionTemplate(transactionManager);
+    second.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+    // when
+    // 첫 번째 트랜잭션이 잠금을 유지한 상태에서 두 번째 트랜잭션(별도 커넥션)이 점유
+    // SKIP LOCKED 이므로 두 번째 트랜잭션은 기다리지 않고 잠기지 않은 행을 가져감
+    List<List<Long>> claimed =
+        first.execute(
+            status -> {
+              List<Long> firstIds = ids(memberRepository.claimBatchByAge(9000, 2));
+              List<Long> secondIds =
+                  second.execute(s -> ids(memberRepository.claimBatchByAge(9000, 2)));
+              return List.of(firstIds, secondIds);
+            });
+
+    // then
+    assertThat(claimed.get(0)).hasSize(2);
+    assertThat(claimed.get(1)).hasSize(2);
+    assertThat(claimed.get(0)).doesNotContainAnyElementsOf(claimed.get(1));
+  }
+
+  private static List<Long> ids(List<Member> members) {
+    return members.stream().map(Member::getId).collect(Collectors.toList());
+  }
+}
@@ -7,6 +7,7 @@ import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 import study.jpa.entity.Member;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -116,6 +117,22 @@ class MemberJpaRepositoryTest {
     assertThat(totalCount).isEqualTo(8);
   }
 
+  @Test
+  public void saveAllBatched() {
+    // given
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      members.add(new Member("batchMember" + i, i));
+    }
+
+    // when
+    memberJpaRepository.saveAllBatched(members, 10);
+
+    // then
+    assertThat(members).allMatch(m -> m.getId() != null);
+    assertThat(memberJpaRepository.findByUsername("batchMember24").size()).isEqualTo(1);
+  }
+
   @Test
   public void bulkUpdate() {
     // given
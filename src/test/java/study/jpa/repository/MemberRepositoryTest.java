@@ -1,27 +1,38 @@
 package study.jpa.repository;
 
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import study.jpa.dto.MemberCursor;
 import study.jpa.dto.MemberDto;
+import study.jpa.dto.MemberSearchCondition;
 import study.jpa.entity.Member;
 import study.jpa.entity.Team;
+import study.jpa.sql.QueryCountAssertions;
+import study.jpa.sql.QueryCountExtension;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
 @Transactional
 @Rollback(false)
+@ExtendWith(QueryCountExtension.class)
 class MemberRepositoryTest {
 
   @Autowired MemberRepository memberRepository;
@@ -147,6 +158,29 @@ class MemberRepositoryTest {
     assertThat(memberDtos.get(0).getTeamName()).isEqualTo("TeamA");
   }
 
+  @Test
+  public void findMemberDtoPage() {
+    // given
+    Team teamA = new Team("TeamA");
+    teamRepository.save(teamA);
+
+    memberRepository.save(new Member("dtoPage1", 10, teamA));
+    memberRepository.save(new Member("dtoPage2", 10, teamA));
+    memberRepository.save(new Member("dtoPage3", 10));
+
+    em.flush();
+    em.clear();
+
+    // when
+    PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.ASC, "username"));
+    Page<MemberDto> page = memberRepository.findMemberDtoPage(pageRequest);
+
+    // then
+    assertThat(page.getContent().size()).isEqualTo(2);
+    assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(3);
+    assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isEqualTo(0);
+  }
+
   @Test
   public void findByNames() {
     Member memberA = new Member("AAA", 10);
@@ -161,6 +195,43 @@ class MemberRepositoryTest {
     assertThat(members.get(1).getUsername()).isEqualTo("BBB");
   }
 
+  @Test
+  public void findByNamesInChunks() {
+    memberRepository.save(new Member("name0", 10));
+    memberRepository.save(new Member("name700", 20));
+    memberRepository.save(new Member("name1199", 30));
+
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < 1200; i++) {
+      names.add("name" + i);
+    }
+    names.add("name0");
+
+    QueryCountAssertions.reset();
+    List<Member> members = memberRepository.findByNames(names);
+
+    // 중복 제거 후 1200 개를 512 개씩 3 번 조회
+    assertThat(members)
+        .extracting("username")
+        .containsExactlyInAnyOrder("name0", "name700", "name1199");
+    QueryCountAssertions.assertSelectCount(3);
+  }
+
+  @Test
+  public void saveAllIsNotChunked() {
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < 600; i++) {
+      members.add(new Member("saveAllMember" + i, i));
+    }
+    // 청크로 나뉘었다면 중복 제거로 600 건만 반환됨
+    members.add(members.get(0));
+
+    List<Member> saved = memberRepository.saveAll(members);
+
+    assertThat(saved).hasSize(601);
+    assertThat(saved.get(600)).isSameAs(saved.get(0));
+  }
+
   @Test
   public void returnType() {
     Member memberA = new Member("AAA", 10);
@@ -241,6 +312,54 @@ class MemberRepositoryTest {
     assertThat(page.hasNext()).isTrue();
   }
 
+  @Test
+  public void keyset() {
+    // given
+    Member member1 = memberRepository.save(new Member("aaaKeyset", 10));
+    Member member2 = memberRepository.save(new Member("aaaKeyset", 10));
+    Member member3 = memberRepository.save(new Member("aaaKeyset", 10));
+
+    // when
+    MemberCursor start = new MemberCursor("aaa", 0L);
+    List<Member> first = memberRepository.findMemberByKeyset(start, 2);
+
+    Member last = first.get(first.size() - 1);
+    MemberCursor next = MemberCursor.decode(new MemberCursor(last.getUsername(), last.getId()).encode());
+    List<Member> second = memberRepository.findMemberByKeyset(next, 2);
+
+    // then
+    assertThat(first).containsExactly(member1, member2);
+    assertThat(second.get(0)).isEqualTo(member3);
+  }
+
+  @Test
+  public void keysetWithNullUsername() {
+    // given
+    Member member1 = memberRepository.save(new Member(null, 10));
+    Member member2 = memberRepository.save(new Member(null, 10));
+
+    // when
+    // null username 도 "null" 문자열이 아닌 null 로 인코딩되어 null 구간부터 이어서 조회
+    MemberCursor start = MemberCursor.decode(new MemberCursor(null, member1.getId() - 1).encode());
+    List<Member> first = memberRepository.findMemberByKeyset(start, 2);
+
+    MemberCursor next = MemberCursor.decode(new MemberCursor(null, member2.getId()).encode());
+    List<Member> second = memberRepository.findMemberByKeyset(next, 1);
+
+    // then
+    assertThat(start.getUsername()).isNull();
+    assertThat(first).containsExactly(member1, member2);
+    // null 구간이 끝나면 username 이 있는 첫 회원부터 이어짐
+    Member firstNamed =
+        em.createQuery(
+                "select m from Member m where m.username is not null"
+                    + " order by m.username asc, m.id asc",
+                Member.class)
+            .setMaxResults(1)
+            .getSingleResult();
+    assertThat(second).containsExactly(firstNamed);
+  }
+
   @Test
   public void separateCountQuery() {
     // given
@@ -256,6 +375,36 @@ class MemberRepositoryTest {
     assertThat(page.getTotalElements()).isEqualTo(4);
   }
 
+  @Test
+  public void approximateCount() {
+    // given
+    memberRepository.save(new Member("member1", 10));
+    memberRepository.save(new Member("member2", 10));
+    memberRepository.save(new Member("member3", 10));
+
+    em.flush();
+    em.clear();
+
+    long estimate =
+        ((Number)
+                em.createNativeQuery(
+                        "select row_count_estimate from information_schema.tables"
+                            + " where table_name = 'MEMBER'")
+                    .getSingleResult())
+            .longValue();
+
+    // when
+    QueryCountAssertions.reset();
+    PageRequest pageRequest = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username"));
+    Page<Member> page = memberRepository.findMemberAllApproximateCount(pageRequest);
+
+    // then
+    assertThat(page.getContent().size()).isEqualTo(2);
+    assertThat(page.getTotalElements()).isEqualTo(estimate);
+    QueryCountAssertions.assertSelectCount(2);
+    QueryCountAssertions.assertNoStatementContaining("count(");
+  }
+
   @Test
   public void bulkUpdate() {
     // given
@@ -331,6 +480,115 @@ class MemberRepositoryTest {
     }
   }
 
+  @Test
+  public void streamMemberAll() {
+    // given
+    Team team = new Team("TeamA");
+    teamRepository.save(team);
+    memberRepository.save(new Member("streamMember1", 10, team));
+    memberRepository.save(new Member("streamMember2", 10, team));
+
+    em.flush();
+    em.clear();
+
+    // when
+    List<String> teamNames;
+    try (Stream<Member> members = memberRepository.streamMemberAll()) {
+      teamNames =
+          members
+              .filter(m -> m.getUsername().startsWith("streamMember"))
+              .map(m -> m.getTeam().getName())
+              .collect(Collectors.toList());
+    }
+
+    // then
+    assertThat(teamNames).containsExactly("TeamA", "TeamA");
+  }
+
+  @Test
+  public void batchFetchTeam() {
+    // given
+    for (int i = 0; i < 3; i++) {
+      Team team = new Team("BatchTeam" + i);
+      teamRepository.save(team);
+      memberRepository.save(new Member("batchFetchMember", 10, team));
+    }
+
+    em.flush();
+    em.clear();
+
+    // when
+    QueryCountAssertions.reset();
+    List<Member> members = memberRepository.findListByUsername("batchFetchMember");
+    for (Member member : members) {
+      member.getTeam().getName();
+    }
+
+    // then
+    QueryCountAssertions.assertSelectCount(2);
+  }
+
+  @Test
+  public void fetchJoinSelectCount() {
+    // given
+    Team teamA = new Team("TeamA");
+    Team teamB = new Team("TeamB");
+    teamRepository.save(teamA);
+    teamRepository.save(teamB);
+
+    memberRepository.save(new Member("Member1", 10, teamA));
+    memberRepository.save(new Member("Member2", 10, teamB));
+
+    em.flush();
+    em.clear();
+
+    // when
+    QueryCountAssertions.reset();
+    List<Member> members = memberRepository.findMemberFetchJoin();
+    for (Member member : members) {
+      member.getTeam().getName();
+    }
+
+    // then
+    QueryCountAssertions.assertSelectCount(1);
+  }
+
+  @Test
+  public void changeTeamWithoutLoadingMembers() {
+    // given
+    Team teamA = new Team("MoveTeamA");
+    Team teamB = new Team("MoveTeamB");
+    teamRepository.save(teamA);
+    teamRepository.save(teamB);
+
+    Member member = new Member("moveMember", 10, teamA);
+    memberRepository.save(new Member("stayMember", 10, teamA));
+    memberRepository.save(new Member("teamBMember", 10, teamB));
+    memberRepository.save(member);
+
+    em.flush();
+    em.clear();
+
+    // when
+    Member findMember = memberRepository.findById(member.getId()).get();
+    Team oldTeam = teamRepository.findById(teamA.getId()).get();
+    Team newTeam = teamRepository.findById(teamB.getId()).get();
+    findMember.changeTeam(newTeam);
+
+    // then
+    // 이동만으로는 양쪽 컬렉션 모두 로딩되지 않음 (새 팀에는 add 가 큐에 쌓임)
+    assertThat(Hibernate.isInitialized(oldTeam.getMembers())).isFalse();
+    assertThat(Hibernate.isInitialized(newTeam.getMembers())).isFalse();
+
+    // 큐에 쌓인 add 가 있으므로 extra lazy 컬렉션의 size() 는 먼저 flush(회원 update)한 뒤 DB 에서 셈
+    QueryCountAssertions.reset();
+    assertThat(newTeam.getMembers().size()).isEqualTo(2);
+    QueryCountAssertions.assertUpdateCount(1);
+    assertThat(newTeam.getMembers())
+        .extracting(Member::getUsername)
+        .containsExactlyInAnyOrder("teamBMember", "moveMember");
+  }
+
   @Test
   public void queryHint() {
 
@@ -346,6 +604,22 @@ class MemberRepositoryTest {
     em.flush(); // 변경 감지가 동작하지 않으며, 내부적으로 스냅샷을 만들지 않음
   }
 
+  @Test
+  public void version() {
+    // given
+    Member member = memberRepository.save(new Member("versionMember", 10));
+    em.flush();
+    Long initialVersion = member.getVersion();
+
+    // when
+    member.setAge(11);
+    em.flush();
+
+    // then
+    assertThat(initialVersion).isEqualTo(0L);
+    assertThat(member.getVersion()).isEqualTo(1L);
+  }
+
   @Test
   public void lock() {
 
@@ -359,6 +633,23 @@ class MemberRepositoryTest {
     List<Member> members = memberRepository.findLockByUsername("Member1");
   }
 
+  @Test
+  public void claimBatch() {
+    // given
+    memberRepository.save(new Member("claimMember1", 500));
+    memberRepository.save(new Member("claimMember2", 501));
+    memberRepository.save(new Member("claimMember3", 502));
+    em.flush();
+    em.clear();
+
+    // when
+    List<Member> claimed = memberRepository.claimBatchByAge(500, 2);
+
+    // then
+    assertThat(claimed.size()).isEqualTo(2);
+    assertThat(claimed).allMatch(m -> m.getAge() >= 500);
+  }
+
   @Test
   public void callCustom() {
     Member member1 = new Member("Member1", 10);
@@ -395,6 +686,67 @@ class MemberRepositoryTest {
     assertThat(result.size()).isEqualTo(1);
   }
 
+  @Test
+  public void search() {
+    // given
+    Team team = new Team("TeamA");
+    em.persist(team);
+
+    Member m1 = new Member("m1", 0, team);
+    Member m2 = new Member("m2", 0, team);
+    em.persist(m1);
+    em.persist(m2);
+
+    em.flush();
+    em.clear();
+
+    // when
+    List<Member> byUsernameAndTeam = memberRepository.search(new MemberSearchCondition("m1", "TeamA"));
+    List<Member> byUsername = memberRepository.search(new MemberSearchCondition("m2", null));
+
+    // then
+    assertThat(byUsernameAndTeam).extracting("username").containsOnly("m1");
+    assertThat(byUsername).extracting("username").containsOnly("m2");
+  }
+
+  @Test
+  public void searchMatchesSpecification() {
+    // given
+    Team teamA = new Team("SpecSearchTeamA");
+    Team teamB = new Team("SpecSearchTeamB");
+    em.persist(teamA);
+    em.persist(teamB);
+
+    em.persist(new Member("specSearchMember1", 0, teamA));
+    em.persist(new Member("specSearchMember1", 0, teamB));
+    em.persist(new Member("specSearchMember2", 0, teamA));
+    em.persist(new Member("specSearchMember1"));
+
+    em.flush();
+    em.clear();
+
+    // when & then
+    // search() 는 MemberSpec 을 조합해 렌더링한 JPQL 을 사용하므로 findAll(spec) 과 결과가 같아야 함
+    assertSameResult(
+        MemberSpec.username("specSearchMember1").and(MemberSpec.teamName("SpecSearchTeamA")),
+        new MemberSearchCondition("specSearchMember1", "SpecSearchTeamA"));
+    assertSameResult(
+        MemberSpec.username("specSearchMember1"),
+        new MemberSearchCondition("specSearchMember1", null));
+    assertSameResult(
+        MemberSpec.teamName("SpecSearchTeamA"), new MemberSearchCondition(null, "SpecSearchTeamA"));
+  }
+
+  private void assertSameResult(Specification<Member> spec, MemberSearchCondition condition) {
+    List<Long> expected =
+        memberRepository.findAll(spec).stream().map(Member::getId).collect(Collectors.toList());
+    List<Long> actual =
+        memberRepository.search(condition).stream().map(Member::getId).collect(Collectors.toList());
+
+    assertThat(expected).isNotEmpty();
+    assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+  }
+
   @Test
   public void queryByExample() {
     // given
@@ -446,6 +798,125 @@ class MemberRepositoryTest {
     }
   }
 
+  @Test
+  public void flatNestedProjection() {
+    // given
+    Team team = new Team("FlatNestedTeam");
+    em.persist(team);
+
+    em.persist(new Member("flatNestedMember", 0, team));
+    em.persist(new Member("flatNestedMember", 0));
+
+    em.flush();
+    em.clear();
+
+    // when
+    QueryCountAssertions.reset();
+    List<NestedClosedProjections> result =
+        memberRepository.findNestedClosedProjectionsByUsername("flatNestedMember");
+
+    // then
+    QueryCountAssertions.assertSelectCount(1);
+    assertThat(result)
+        .extracting(NestedClosedProjections::getUsername)
+        .containsOnly("flatNestedMember");
+    assertThat(result)
+        .extracting(
+            projection -> projection.getTeam() == null ? null : projection.getTeam().getName())
+        .containsExactlyInAnyOrder("FlatNestedTeam", null);
+  }
+
+  @Test
+  public void computedProjection() {
+    // given
+    em.persist(new Member("computedMember", 10));
+    em.persist(new Member("otherComputedMember", 20));
+
+    em.flush();
+    em.clear();
+
+    // when
+    List<UserNameOnly> result = memberRepository.findUserNameOnlyByUsername("computedMember");
+
+    // then
+    assertThat(result).extracting(UserNameOnly::getUsername).containsExactly("computedMember 10");
+  }
+
+  @Test
+  public void dynamicProjections() {
+    // given
+    String username = "dynamicProjectionMember";
+    Team team = new Team("DynamicProjectionTeam");
+    em.persist(team);
+    em.persist(new Member(username, 10, team));
+
+    em.flush();
+    em.clear();
+
+    // when
+    List<UsernameOnlyDto> dtos =
+        memberRepository.findProjectionsByUsername(username, UsernameOnlyDto.class);
+    List<UserNameOnly> computed =
+        memberRepository.findProjectionsByUsername(username, UserNameOnly.class);
+    List<NestedClosedProjections> nested =
+        memberRepository.findProjectionsByUsername(username, NestedClosedProjections.class);
+    List<MemberProjection> flat =
+        memberRepository.findProjectionsByUsername(username, MemberProjection.class);
+    List<Member> members = memberRepository.findProjectionsByUsername(username, Member.class);
+
+    // then
+    assertThat(dtos.get(0).getUsername()).isEqualTo(username);
+    assertThat(computed.get(0).getUsername()).isEqualTo(username + " 10");
+    assertThat(nested.get(0)).isInstanceOf(NestedClosedProjectionsDto.class);
+    assertThat(nested.get(0).getTeam().getName()).isEqualTo("DynamicProjectionTeam");
+    assertThat(flat.get(0).getTeamName()).isEqualTo("DynamicProjectionTeam");
+    assertThat(members.get(0).getAge()).isEqualTo(10);
+  }
+
+  public interface MemberWithTeamLabel {
+
+    String getUsername();
+
+    TeamLabel getTeam();
+
+    default String getLabel() {
+      return getUsername() + "@" + (getTeam() == null ? "-" : getTeam().getDisplayName());
+    }
+
+    interface TeamLabel {
+
+      String getName();
+
+      default String getDisplayName() {
+        return "[" + getName() + "]";
+      }
+    }
+  }
+
+  @Test
+  public void defaultMethodProjection() {
+    // given
+    String username = "defaultMethodProjectionMember";
+    Team team = new Team("DefaultMethodProjectionTeam");
+    em.persist(team);
+    em.persist(new Member(username, 10, team));
+    em.persist(new Member(username, 20));
+
+    em.flush();
+    em.clear();
+
+    // when
+    // 닫힌 프로젝션도 Spring Data 프록시로 만들어지므로 default 메서드와 중첩 프로젝션의 default 메서드가 동작
+    List<MemberWithTeamLabel> result =
+        memberRepository.findProjectionsByUsername(username, MemberWithTeamLabel.class);
+
+    // then
+    assertThat(result)
+        .extracting(MemberWithTeamLabel::getLabel)
+        .containsExactlyInAnyOrder(
+            username + "@[DefaultMethodProjectionTeam]", username + "@-");
+  }
+
   @Test
   public void nativeQuery() {
     // given
@@ -0,0 +1,125 @@
+package study.jpa.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.jpa.entity.Member;
+import study.jpa.entity.Team;
+import study.jpa.sql.QueryCountAssertions;
+import study.jpa.sql.QueryCountExtension;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 2차 캐시는 트랜잭션 커밋 후에 반영되므로 테스트 트랜잭션(@Transactional) 없이 트랜잭션마다 따로 조회
+@SpringBootTest
+@ExtendWith(QueryCountExtension.class)
+class SecondLevelCacheTest {
+
+  @Autowired MemberRepository memberRepository;
+  @Autowired TeamRepository teamRepository;
+  @Autowired EntityManagerFactory emf;
+  @Autowired PlatformTransactionManager transactionManager;
+  @PersistenceContext EntityManager em;
+
+  @Test
+  public void teamEntityCache() {
+    // given
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    Long teamId = teamRepository.save(new Team("cachedTeam")).getId();
+    emf.getCache().evict(Team.class, teamId);
+
+    // when & then
+    // 첫 조회는 DB 에서 읽어 캐시에 넣고, 다른 트랜잭션의 두 번째 조회는 SQL 없이 캐시에서 읽음
+    QueryCountAssertions.reset();
+    tx.executeWithoutResult(status -> teamRepository.findById(teamId).orElseThrow());
+    QueryCountAssertions.assertSelectCount(1);
+
+    QueryCountAssertions.reset();
+    tx.executeWithoutResult(status -> teamRepository.findById(teamId).orElseThrow());
+    QueryCountAssertions.assertSelectCount(0);
+
+    // READ_WRITE 는 커밋 시 변경된 값으로 캐시를 갱신하므로, 수정 후 조회도 SQL 없이 변경된 값을 읽음
+    tx.executeWithoutResult(
+        status -> teamRepository.findById(teamId).orElseThrow().setName("renamedCachedTeam"));
+
+    QueryCountAssertions.reset();
+    String name = tx.execute(status -> teamRepository.findById(teamId).orElseThrow().getName());
+    QueryCountAssertions.assertSelectCount(0);
+    assertThat(name).isEqualTo("renamedCachedTeam");
+
+    // JPQL 벌크 수정은 Team 영역을 비우므로 다시 DB 에서 읽음
+    tx.executeWithoutResult(
+        status ->
+            em.createQuery("update Team t set t.name = :name where t.id = :id")
+                .setParameter("name", "bulkRenamedCachedTeam")
+                .setParameter("id", teamId)
+                .executeUpdate());
+
+    QueryCountAssertions.reset();
+    name = tx.execute(status -> teamRepository.findById(teamId).orElseThrow().getName());
+    QueryCountAssertions.assertSelectCount(1);
+    assertThat(name).isEqualTo("bulkRenamedCachedTeam");
+  }
+
+  @Test
+  public void usernameQueryCache() {
+    // given
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    memberRepository.save(new Member("queryCachedMember", 9500));
+
+    // when & then
+    // 결과는 id 목록으로 캐시되고 엔티티는 Member 영역에서 읽으므로, 두 번째 조회는 SQL 을 실행하지 않음
+    QueryCountAssertions.reset();
+    List<Integer> ages = tx.execute(status -> agesOf("queryCachedMember"));
+    QueryCountAssertions.assertSelectCount(1);
+
+    QueryCountAssertions.reset();
+    tx.executeWithoutResult(status -> agesOf("queryCachedMember"));
+    QueryCountAssertions.assertSelectCount(0);
+
+    // 벌크 수정도 member 테이블의 update timestamp 를 갱신하므로 캐시된 결과를 쓰지 않고 다시 조회
+    memberRepository.bulkAgePlus(9500);
+
+    QueryCountAssertions.reset();
+    List<Integer> agesAfterUpdate = tx.execute(status -> agesOf("queryCachedMember"));
+    QueryCountAssertions.assertSelectCount(1);
+    assertThat(agesAfterUpdate)
+        .isEqualTo(ages.stream().map(age -> age + 1).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void streamExportDoesNotFillMemberRegion() {
+    // given
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    Long memberId = memberRepository.save(new Member("streamedMember", 10)).getId();
+    emf.getCache().evict(Member.class);
+
+    // when
+    tx.executeWithoutResult(
+        status -> {
+          try (Stream<Member> members = memberRepository.streamMemberAll()) {
+            members.forEach(member -> {});
+          }
+        });
+
+    // then
+    assertThat(emf.getCache().contains(Member.class, memberId)).isFalse();
+  }
+
+  private List<Integer> agesOf(String username) {
+    return memberRepository.findByUsername(username).stream()
+        .map(Member::getAge)
+        .sorted()
+        .collect(Collectors.toList());
+  }
+}
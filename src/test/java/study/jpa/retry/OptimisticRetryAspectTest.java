@@ -0,0 +1,52 @@
+package study.jpa.retry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import study.jpa.entity.Member;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OptimisticRetryAspectTest {
+
+  @Test
+  public void retryUntilSuccess() {
+    ConflictingUpdater updater = proxy(new ConflictingUpdater(2));
+
+    assertThat(updater.update()).isEqualTo(3);
+  }
+
+  @Test
+  public void giveUpAfterMaxAttempts() {
+    ConflictingUpdater updater = proxy(new ConflictingUpdater(5));
+
+    assertThatThrownBy(updater::update)
+        .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+  }
+
+  private ConflictingUpdater proxy(ConflictingUpdater target) {
+    AspectJProxyFactory factory = new AspectJProxyFactory(target);
+    factory.addAspect(new OptimisticRetryAspect());
+    return factory.getProxy();
+  }
+
+  static class ConflictingUpdater {
+
+    private final int conflicts;
+    private int attempts;
+
+    ConflictingUpdater(int conflicts) {
+      this.conflicts = conflicts;
+    }
+
+    @OptimisticRetry(maxAttempts = 3, backoffMillis = 1)
+    public int update() {
+      attempts++;
+      if (attempts <= conflicts) {
+        throw new ObjectOptimisticLockingFailureException(Member.class, 1L);
+      }
+      return attempts;
+    }
+  }
+}
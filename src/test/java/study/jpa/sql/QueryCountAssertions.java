@@ -0,0 +1,51 @@
+package study.jpa.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 테스트에서 reset() 이후 실행된 SQL 수를 검증
+public class QueryCountAssertions {
+
+  private QueryCountAssertions() {}
+
+  public static void reset() {
+    QueryCountHolder.start();
+  }
+
+  public static void clear() {
+    QueryCountHolder.clear();
+  }
+
+  public static void assertSelectCount(int expected) {
+    assertThat(current().getSelect()).as("select count").isEqualTo(expected);
+  }
+
+  public static void assertInsertCount(int expected) {
+    assertThat(current().getInsert()).as("insert count").isEqualTo(expected);
+  }
+
+  public static void assertUpdateCount(int expected) {
+    assertThat(current().getUpdate()).as("update count").isEqualTo(expected);
+  }
+
+  public static void assertDeleteCount(int expected) {
+    assertThat(current().getDelete()).as("delete count").isEqualTo(expected);
+  }
+
+  public static void assertNoRepeatedStatements(int threshold) {
+    assertThat(current().getRepeatedStatements(threshold)).as("repeated statements").isEmpty();
+  }
+
+  public static void assertNoStatementContaining(String fragment) {
+    assertThat(current().getStatements().keySet())
+        .as("statements containing " + fragment)
+        .noneMatch(sql -> sql.toLowerCase().contains(fragment.toLowerCase()));
+  }
+
+  private static QueryCount current() {
+    QueryCount count = QueryCountHolder.get();
+    if (count == null) {
+      throw new IllegalStateException("QueryCountAssertions.reset() 을 먼저 호출해야 합니다.");
+    }
+    return count;
+  }
+}
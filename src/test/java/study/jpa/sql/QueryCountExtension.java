@@ -0,0 +1,13 @@
+package study.jpa.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+// 검증이 실패해도 다음 테스트가 같은 스레드의 집계를 이어받지 않도록 테스트마다 정리
+public class QueryCountExtension implements AfterEachCallback {
+
+  @Override
+  public void afterEach(ExtensionContext context) {
+    QueryCountAssertions.clear();
+  }
+}
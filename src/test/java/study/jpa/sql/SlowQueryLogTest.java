@@ -0,0 +1,46 @@
+package study.jpa.sql;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import study.jpa.entity.Member;
+import study.jpa.repository.MemberRepository;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 모든 SQL 을 느린 쿼리로 기록. EXPLAIN 은 비동기로 채워지므로 테스트 트랜잭션(@Transactional)을 사용하지 않음
+@SpringBootTest(properties = "slow-query.threshold=0ms")
+class SlowQueryLogTest {
+
+  @Autowired MemberRepository memberRepository;
+  @Autowired SlowQueryLog slowQueryLog;
+
+  @Test
+  public void captureSlowQueryWithExplain() throws Exception {
+    // given
+    memberRepository.save(new Member("slowMember", 10));
+
+    // when
+    memberRepository.findByNames(Arrays.asList("slowMember"));
+
+    // then
+    SlowQuery slowQuery = find("MemberRepository.findByNames(Collection)").get();
+    assertThat(slowQuery.getSqlWithValues()).contains("'slowMember'");
+    assertThat(slowQuery.getCallerFrame()).startsWith(SlowQueryLogTest.class.getName());
+
+    long deadline = System.currentTimeMillis() + 5000;
+    while (slowQuery.getExplain() == null && System.currentTimeMillis() < deadline) {
+      Thread.sleep(100);
+    }
+    assertThat(slowQuery.getExplain()).isNotBlank().doesNotStartWith("explain failed");
+  }
+
+  private Optional<SlowQuery> find(String repositoryMethod) {
+    return slowQueryLog.findAll(Integer.MAX_VALUE).stream()
+        .filter(q -> repositoryMethod.equals(q.getRepositoryMethod()))
+        .findFirst();
+  }
+}